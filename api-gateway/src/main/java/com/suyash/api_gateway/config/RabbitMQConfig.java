@@ -0,0 +1,21 @@
+package com.suyash.api_gateway.config;
+
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the RabbitMQ messages the gateway consumes.
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    // published by auth-service; every gateway instance binds its own queue, so each one sees every revocation
+    public static final String TOKEN_REVOCATIONS_EXCHANGE = "tokenRevocationsExchange";
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
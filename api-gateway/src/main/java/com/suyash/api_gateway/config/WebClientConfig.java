@@ -0,0 +1,30 @@
+package com.suyash.api_gateway.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Configuration for the WebClient used to call downstream services directly from the gateway.
+ */
+@Configuration
+public class WebClientConfig {
+
+    /**
+     * WebClient builder that resolves {@code http://<service-id>} URLs through the service registry.
+     * Boot's customizers are applied so calls carry the tracing context and are observed like other client calls.
+     *
+     * @param customizers the WebClient customizers registered by Spring Boot
+     * @return the load-balanced WebClient builder
+     */
+    @Bean
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<WebClientCustomizer> customizers) {
+        WebClient.Builder builder = WebClient.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
+}
@@ -0,0 +1,40 @@
+package com.suyash.api_gateway.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.suyash.api_gateway.dto.ApiResponse;
+import com.suyash.api_gateway.exception.UnauthorizedException;
+import com.suyash.api_gateway.filter.AuthenticationFilter;
+import com.suyash.api_gateway.service.AggregationService;
+import io.jsonwebtoken.Claims;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Composition endpoints served by the gateway itself, merging several downstream calls into one response.
+ * Clients call them through the {@code aggregate} route, which runs the AuthenticationFilter, RateLimitFilter
+ * and AdaptiveConcurrencyFilter like every other route and then forwards here.
+ * The caller's claims are taken from the exchange attribute the AuthenticationFilter sets, so a request that
+ * reaches this path without passing the route's filters is rejected.
+ */
+@RestController
+@RequestMapping("/internal/aggregate")
+public class AggregationController {
+    private final AggregationService aggregationService;
+
+    public AggregationController(AggregationService aggregationService) {
+        this.aggregationService = aggregationService;
+    }
+
+    @GetMapping("/employees/{id}")
+    public Mono<ApiResponse<JsonNode>> getEmployee(@PathVariable Long id, ServerWebExchange exchange) {
+        Claims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTRIBUTE);
+        if (claims == null) {
+            throw new UnauthorizedException("Missing authorization header");
+        }
+        return aggregationService.aggregateEmployee(id, claims);
+    }
+}
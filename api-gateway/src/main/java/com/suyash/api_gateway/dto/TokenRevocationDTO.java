@@ -0,0 +1,19 @@
+package com.suyash.api_gateway.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A token revoked in auth-service, identified by its jti claim.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocationDTO {
+    private String jti;
+    // epoch milliseconds at which the token expires and the revocation can be forgotten
+    @JsonProperty("expires_at")
+    private long expiresAt;
+}
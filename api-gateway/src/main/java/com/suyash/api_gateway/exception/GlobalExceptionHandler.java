@@ -30,6 +30,19 @@ public class GlobalExceptionHandler {
         return Mono.just(new ResponseEntity<>(response, HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * Handles UnauthorizedException.
+     *
+     * @param ex The UnauthorizedException instance
+     * @return Mono with ResponseEntity containing an error message and HTTP status 401
+     */
+    @ExceptionHandler(UnauthorizedException.class)
+    public Mono<ResponseEntity<ApiResponse<String>>> handleUnauthorizedException(UnauthorizedException ex) {
+        logger.error("UnauthorizedException: {}", ex.getMessage());
+        ApiResponse<String> response = new ApiResponse<>(false, ex.getMessage(), null);
+        return Mono.just(new ResponseEntity<>(response, HttpStatus.UNAUTHORIZED));
+    }
+
     /**
      * Handles IllegalArgumentException.
      *
@@ -0,0 +1,7 @@
+package com.suyash.api_gateway.exception;
+
+public class UnauthorizedException extends RuntimeException {
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
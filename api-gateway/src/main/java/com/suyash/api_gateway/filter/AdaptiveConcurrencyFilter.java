@@ -0,0 +1,116 @@
+package com.suyash.api_gateway.filter;
+
+import com.suyash.api_gateway.ratelimit.AdaptiveConcurrencyLimiter;
+import com.suyash.api_gateway.util.ErrorResponseUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A filter that sheds load when a downstream service slows down.
+ * Each route gets an AdaptiveConcurrencyLimiter; requests beyond its current limit are rejected at once
+ * with 503 Service Unavailable instead of queueing in front of a saturated service.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration targetLatency;
+    private final double backoffRatio;
+
+    /**
+     * Constructs an AdaptiveConcurrencyFilter.
+     *
+     * @param meterRegistry the registry the limits and rejections are published to
+     * @param initialLimit  the concurrency limit of a route at startup
+     * @param minLimit      the lowest concurrency limit of a route
+     * @param maxLimit      the highest concurrency limit of a route
+     * @param targetLatency responses slower than this shrink the limit
+     * @param backoffRatio  the factor applied to the limit when a response is slow or a server error
+     */
+    public AdaptiveConcurrencyFilter(MeterRegistry meterRegistry,
+                                     @Value("${gateway.concurrency.initial-limit:50}") int initialLimit,
+                                     @Value("${gateway.concurrency.min-limit:5}") int minLimit,
+                                     @Value("${gateway.concurrency.max-limit:500}") int maxLimit,
+                                     @Value("${gateway.concurrency.target-latency:500ms}") Duration targetLatency,
+                                     @Value("${gateway.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = targetLatency;
+        this.backoffRatio = backoffRatio;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = String.valueOf(config.getRouteId());
+        AdaptiveConcurrencyLimiter limiter = limiters.computeIfAbsent(routeId, this::createLimiter);
+
+        return (exchange, chain) -> {
+            if (!limiter.tryAcquire()) {
+                meterRegistry.counter("gateway.concurrency.rejected", "route", routeId).increment();
+                exchange.getResponse().getHeaders().set("Retry-After", "1");
+                return ErrorResponseUtil.generateErrorResponse(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE,
+                        "Service is overloaded, retry later");
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                // a cancelled request (client went away) says nothing about the downstream service
+                if (signal == SignalType.CANCEL) {
+                    limiter.cancel();
+                } else {
+                    limiter.release(System.nanoTime() - start, failed);
+                }
+            });
+        };
+    }
+
+    private AdaptiveConcurrencyLimiter createLimiter(String routeId) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, targetLatency.toNanos(), backoffRatio);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Configuration class for the AdaptiveConcurrencyFilter.
+     * The gateway sets the ID of the route the filter is applied to.
+     */
+    public static class Config implements HasRouteId {
+        private String routeId;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+    }
+}
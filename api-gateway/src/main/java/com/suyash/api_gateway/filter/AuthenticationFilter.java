@@ -1,13 +1,18 @@
 package com.suyash.api_gateway.filter;
 
 import com.suyash.api_gateway.util.ErrorResponseUtil;
+import com.suyash.api_gateway.util.IdentityHeaderSigner;
 import com.suyash.api_gateway.util.JwtUtil;
+import com.suyash.api_gateway.util.TokenRevocationList;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -16,53 +21,91 @@ import reactor.core.publisher.Mono;
  * A filter to authenticate requests by validating JWT tokens.
  * This filter intercepts requests and checks for the presence of an authorization header.
  * If the header is present, it validates the JWT token.
- * If the validation fails or the header is missing, it returns an unauthorized error response.
+ * If the validation fails, the token was revoked or the header is missing, it returns an unauthorized error response.
+ * Once the token is valid, its claims are forwarded to the downstream service as signed identity headers
+ * and stored in the {@link #CLAIMS_ATTRIBUTE} exchange attribute for the filters that follow.
  */
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
+    public static final String CLAIMS_ATTRIBUTE = AuthenticationFilter.class.getName() + ".claims";
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticationFilter.class);
     private final JwtUtil jwtUtil;
     private final RouteValidator validator;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final TokenRevocationList tokenRevocationList;
 
     /**
-     * Constructs an AuthenticationFilter with the specified JwtUtil and RouteValidator.
+     * Constructs an AuthenticationFilter with the specified JwtUtil, RouteValidator, IdentityHeaderSigner
+     * and TokenRevocationList.
      *
-     * @param jwtUtil    the utility for JWT operations
-     * @param validator  the validator to check if a route is secured
+     * @param jwtUtil              the utility for JWT operations
+     * @param validator            the validator to check if a route is secured
+     * @param identityHeaderSigner the signer for the identity headers forwarded downstream
+     * @param tokenRevocationList  the list of revoked tokens
      */
-    public AuthenticationFilter(JwtUtil jwtUtil, RouteValidator validator) {
+    public AuthenticationFilter(JwtUtil jwtUtil,
+                                RouteValidator validator,
+                                IdentityHeaderSigner identityHeaderSigner,
+                                TokenRevocationList tokenRevocationList) {
         super(Config.class);
         this.validator = validator;
         this.jwtUtil = jwtUtil;
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     /**
      * Applies the filter logic.
      * Checks if the request is to a secured route, validates the JWT token, and handles errors.
+     * Client-supplied identity headers are always removed before the request is forwarded.
      *
      * @param config the configuration object
      * @return the gateway filter
      */
     @Override
     public GatewayFilter apply(Config config) {
+        // decided once per route: routes without public paths skip the per-request path lookup
+        boolean fullySecured = validator.isFullySecured(config.getRouteId());
+
         return (exchange, chain) -> {
-            if (validator.isSecured.test(exchange.getRequest())) {
-                if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-                    return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
-                }
+            if (!fullySecured && !validator.isSecured(exchange.getRequest())) {
+                ServerHttpRequest request = exchange.getRequest()
+                        .mutate()
+                        .headers(IdentityHeaderSigner::strip)
+                        .build();
+                return chain.filter(exchange.mutate().request(request).build());
+            }
+
+            if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
+            }
+
+            String token = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
+            if (token != null && token.startsWith("Bearer ")) {
+                token = token.substring(7);
+            }
 
-                String token = exchange.getRequest().getHeaders().get(HttpHeaders.AUTHORIZATION).get(0);
-                if (token != null && token.startsWith("Bearer ")) {
-                    token = token.substring(7);
-                }
-                try {
-                    jwtUtil.validateToken(token);
-                } catch (Exception e) {
-                    LOGGER.error("Error in parsing token", e);
-                    return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
-                }
+            Claims claims;
+            try {
+                claims = jwtUtil.validateToken(token);
+            } catch (Exception e) {
+                LOGGER.error("Error in parsing token", e);
+                return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
-            return chain.filter(exchange);
+
+            // checked on every request: the validated-token cache in JwtUtil does not know about revocations
+            if (tokenRevocationList.isRevoked(claims.getId())) {
+                LOGGER.warn("Rejected revoked token {}", claims.getId());
+                return onError(exchange, "Token has been revoked", HttpStatus.UNAUTHORIZED);
+            }
+
+            // forward the verified identity so downstream services do not have to re-authenticate
+            ServerHttpRequest request = exchange.getRequest()
+                    .mutate()
+                    .headers(headers -> identityHeaderSigner.apply(headers, claims))
+                    .build();
+            exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+            return chain.filter(exchange.mutate().request(request).build());
         };
     }
 
@@ -80,6 +123,19 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
     /**
      * Configuration class for the AuthenticationFilter.
+     * The gateway sets the ID of the route the filter is applied to.
      */
-    public static class Config { }
+    public static class Config implements HasRouteId {
+        private String routeId;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+    }
 }
@@ -0,0 +1,121 @@
+package com.suyash.api_gateway.filter;
+
+import com.suyash.api_gateway.ratelimit.InMemoryTokenBucketStore;
+import com.suyash.api_gateway.ratelimit.TokenBucketStore;
+import com.suyash.api_gateway.util.ErrorResponseUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * A filter that limits the request rate of each caller on a route with a token bucket.
+ * Callers are identified by the subject of their verified JWT, so the filter must come after the
+ * AuthenticationFilter; requests without claims, such as those on the public auth-service route, are keyed
+ * by client address.
+ * Requests over the limit are rejected with 429 Too Many Requests.
+ * The buckets live in the TokenBucketStore bean if one is defined, otherwise in a per-node in-memory store.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+    private final TokenBucketStore tokenBucketStore;
+    private final MeterRegistry meterRegistry;
+    private final long defaultCapacity;
+    private final double defaultRefillPerSecond;
+
+    /**
+     * Constructs a RateLimitFilter.
+     *
+     * @param tokenBucketStore       the shared store holding the token buckets, if one is defined
+     * @param meterRegistry          the registry rejected requests are counted in
+     * @param defaultCapacity        the burst size used when the route does not configure one
+     * @param defaultRefillPerSecond the sustained rate used when the route does not configure one
+     * @param stripes                the number of independently locked stripes of the in-memory store
+     * @param maxBucketsPerStripe    the number of buckets the in-memory store keeps per stripe before the least
+     *                               recently used is dropped
+     */
+    public RateLimitFilter(ObjectProvider<TokenBucketStore> tokenBucketStore,
+                           MeterRegistry meterRegistry,
+                           @Value("${gateway.rate-limit.capacity:100}") long defaultCapacity,
+                           @Value("${gateway.rate-limit.refill-per-second:50}") double defaultRefillPerSecond,
+                           @Value("${gateway.rate-limit.stripes:64}") int stripes,
+                           @Value("${gateway.rate-limit.max-buckets-per-stripe:10000}") int maxBucketsPerStripe) {
+        super(Config.class);
+        this.tokenBucketStore = tokenBucketStore.getIfAvailable(
+                () -> new InMemoryTokenBucketStore(stripes, maxBucketsPerStripe));
+        this.meterRegistry = meterRegistry;
+        this.defaultCapacity = defaultCapacity;
+        this.defaultRefillPerSecond = defaultRefillPerSecond;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long capacity = config.getCapacity() != null ? config.getCapacity() : defaultCapacity;
+        double refillPerSecond = config.getRefillPerSecond() != null ? config.getRefillPerSecond() : defaultRefillPerSecond;
+        String routeId = config.getRouteId();
+
+        return (exchange, chain) -> tokenBucketStore.tryConsume(callerKey(exchange) + "|" + routeId, capacity, refillPerSecond)
+                .flatMap(allowed -> {
+                    if (allowed) {
+                        return chain.filter(exchange);
+                    }
+                    meterRegistry.counter("gateway.ratelimit.rejected", "route", String.valueOf(routeId)).increment();
+                    exchange.getResponse().getHeaders().set("Retry-After", "1");
+                    return ErrorResponseUtil.generateErrorResponse(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS,
+                            "Rate limit exceeded");
+                });
+    }
+
+    private static String callerKey(ServerWebExchange exchange) {
+        Claims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTRIBUTE);
+        if (claims != null && claims.getSubject() != null) {
+            return "sub:" + claims.getSubject();
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "unknown");
+    }
+
+    /**
+     * Configuration class for the RateLimitFilter.
+     * Unset values fall back to the {@code gateway.rate-limit} properties.
+     */
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Long capacity;
+        private Double refillPerSecond;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public Long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(Long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(Double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
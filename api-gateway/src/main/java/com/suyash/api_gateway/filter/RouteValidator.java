@@ -1,22 +1,154 @@
 package com.suyash.api_gateway.filter;
 
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Set;
 
+/**
+ * Decides whether a request needs a valid JWT.
+ * The public paths are compiled at startup into a set of exact paths and an array of path prefixes,
+ * so a lookup is a hash probe plus a few {@code startsWith} checks on the already-parsed request path,
+ * without allocating. {@link AuthenticationFilter} asks once per route whether the route's paths can overlap
+ * any public path; routes that cannot skip the lookup entirely.
+ */
 @Component
 public class RouteValidator {
+    /**
+     * Paths that can be called without a token. A trailing {@code /**} makes the entry match the path
+     * and everything below it; other entries must match the whole path.
+     */
     public static final List<String> publicUrls = List.of(
             "/auth/login",
             "/auth/register",
+            "/auth/refresh",
             "/auth/verify-token",
-            "/eureka"
+            "/auth/revoke",
+            "/auth/.well-known/jwks.json",
+            "/eureka/**"
     );
 
-    public Predicate<ServerHttpRequest> isSecured =
-            request -> publicUrls
-                    .stream()
-                    .noneMatch(uri -> request.getURI().getPath().contains(uri));
+    private static final String PREFIX_WILDCARD = "/**";
+
+    private final GatewayProperties gatewayProperties;
+    private final Set<String> publicPaths = new HashSet<>();
+    private final String[] publicPrefixes;
+
+    /**
+     * Constructs a RouteValidator and compiles the public paths.
+     *
+     * @param gatewayProperties the configured gateway routes, used to decide which routes are fully secured
+     */
+    public RouteValidator(GatewayProperties gatewayProperties) {
+        this.gatewayProperties = gatewayProperties;
+
+        List<String> prefixes = new ArrayList<>();
+        for (String url : publicUrls) {
+            if (url.endsWith(PREFIX_WILDCARD)) {
+                prefixes.add(url.substring(0, url.length() - PREFIX_WILDCARD.length()));
+            } else {
+                publicPaths.add(url);
+                publicPaths.add(url + "/");
+            }
+        }
+        this.publicPrefixes = prefixes.toArray(new String[0]);
+    }
+
+    /**
+     * Checks whether the request needs a valid JWT.
+     *
+     * @param request the incoming request
+     * @return true if the request path is not public
+     */
+    public boolean isSecured(ServerHttpRequest request) {
+        return isSecuredPath(request.getPath().pathWithinApplication().value());
+    }
+
+    /**
+     * Checks whether the given path needs a valid JWT.
+     *
+     * @param path the request path, without query string
+     * @return true if the path is not public
+     */
+    public boolean isSecuredPath(String path) {
+        if (publicPaths.contains(path)) {
+            return false;
+        }
+        for (String prefix : publicPrefixes) {
+            if (path.startsWith(prefix)
+                    && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Works out whether every path the route accepts is secured. Called once per route when its filter is built.
+     * A route is fully secured when none of its {@code Path} predicates can overlap a public path.
+     * Routes without {@code Path} predicates, or not defined in the gateway properties, are checked per request.
+     *
+     * @param routeId the ID of the gateway route, may be null
+     * @return true if no request to the route can be public
+     */
+    public boolean isFullySecured(String routeId) {
+        if (routeId == null) {
+            return false;
+        }
+        List<String> routePatterns = gatewayProperties.getRoutes()
+                .stream()
+                .filter(route -> routeId.equals(route.getId()))
+                .findFirst()
+                .map(RouteValidator::pathPatterns)
+                .orElse(List.of());
+        if (routePatterns.isEmpty()) {
+            return false;
+        }
+
+        for (String routePattern : routePatterns) {
+            String routePrefix = literalPrefix(routePattern);
+            for (String url : publicUrls) {
+                String publicPath = url.endsWith(PREFIX_WILDCARD)
+                        ? url.substring(0, url.length() - PREFIX_WILDCARD.length())
+                        : url;
+                if (publicPath.startsWith(routePrefix) || routePrefix.startsWith(publicPath)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<String> pathPatterns(RouteDefinition route) {
+        List<String> patterns = new ArrayList<>();
+        for (PredicateDefinition predicate : route.getPredicates()) {
+            if ("Path".equals(predicate.getName())) {
+                for (String value : predicate.getArgs().values()) {
+                    for (String pattern : value.split(",")) {
+                        patterns.add(pattern.trim());
+                    }
+                }
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * Returns the part of a path pattern before its first wildcard or template variable.
+     */
+    private static String literalPrefix(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return pattern.substring(0, i);
+            }
+        }
+        return pattern;
+    }
 }
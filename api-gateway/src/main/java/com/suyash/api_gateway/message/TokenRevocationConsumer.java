@@ -0,0 +1,38 @@
+package com.suyash.api_gateway.message;
+
+import com.suyash.api_gateway.config.RabbitMQConfig;
+import com.suyash.api_gateway.dto.TokenRevocationDTO;
+import com.suyash.api_gateway.util.TokenRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TokenRevocationConsumer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationConsumer.class);
+    private final TokenRevocationList tokenRevocationList;
+
+    public TokenRevocationConsumer(TokenRevocationList tokenRevocationList) {
+        this.tokenRevocationList = tokenRevocationList;
+    }
+
+    /**
+     * Adds a token revoked in auth-service to the revocation list.
+     * Every instance listens on its own server-named, auto-delete queue, so each gateway rejects the token.
+     *
+     * @param revocation The revoked token
+     */
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.TOKEN_REVOCATIONS_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void consumeRevocation(TokenRevocationDTO revocation) {
+        LOGGER.info("Token {} revoked", revocation.getJti());
+        tokenRevocationList.add(revocation.getJti(), revocation.getExpiresAt());
+    }
+}
@@ -0,0 +1,100 @@
+package com.suyash.api_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the number of requests in flight to one downstream route, adapting the limit to observed latency (AIMD).
+ * While requests complete within the target latency the limit grows by about one per limit's worth of requests;
+ * a slow or failed (5xx) request shrinks it by the backoff ratio, at most once per target latency so a burst of
+ * slow responses counts as one congestion signal. Requests over the limit are rejected
+ * immediately instead of queueing behind a saturated service.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double limit;
+    private long lastDecreaseNanos;
+
+    /**
+     * Constructs an AdaptiveConcurrencyLimiter.
+     *
+     * @param initialLimit       the limit to start with
+     * @param minLimit           the limit never drops below this
+     * @param maxLimit           the limit never grows above this
+     * @param targetLatencyNanos requests slower than this shrink the limit
+     * @param backoffRatio       the factor applied to the limit when a request is slow or fails, between 0 and 1
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, targetLatencyNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos, double backoffRatio,
+                               LongSupplier nanoClock) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Reserves a slot for a request.
+     *
+     * @return true if the request may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        int limitNow = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limitNow) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a completed request and adapts the limit to how it went.
+     *
+     * @param latencyNanos how long the request took
+     * @param failed       whether the downstream service failed the request with a server error or timeout
+     */
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a request that was abandoned before completing, without adapting the limit.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,94 @@
+package com.suyash.api_gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept in the memory of one gateway node.
+ * Buckets are spread over a fixed number of stripes, each with its own lock, so requests for different keys
+ * rarely contend. Each stripe keeps at most {@code maxBucketsPerStripe} buckets and drops the least recently used
+ * one when full; a dropped bucket starts full again, which only ever lets a client through, never blocks it.
+ */
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Constructs an InMemoryTokenBucketStore.
+     *
+     * @param stripes             the number of stripes, rounded up to a power of two
+     * @param maxBucketsPerStripe the maximum number of buckets kept in one stripe
+     */
+    public InMemoryTokenBucketStore(int stripes, int maxBucketsPerStripe) {
+        this(stripes, maxBucketsPerStripe, System::nanoTime);
+    }
+
+    InMemoryTokenBucketStore(int stripes, int maxBucketsPerStripe, LongSupplier nanoClock) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe(maxBucketsPerStripe);
+        }
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Mono<Boolean> tryConsume(String key, long capacity, double refillPerSecond) {
+        return Mono.just(tryConsumeNow(key, capacity, refillPerSecond));
+    }
+
+    /**
+     * Synchronous version of {@link #tryConsume}, the in-memory store never has to wait.
+     */
+    public boolean tryConsumeNow(String key, long capacity, double refillPerSecond) {
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+        long now = nanoClock.getAsLong();
+
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                double refill = (now - bucket.lastRefillNanos) / 1_000_000_000.0 * refillPerSecond;
+                bucket.tokens = Math.min(capacity, bucket.tokens + refill);
+                bucket.lastRefillNanos = now;
+            }
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxBuckets) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxBuckets;
+                }
+            };
+        }
+    }
+}
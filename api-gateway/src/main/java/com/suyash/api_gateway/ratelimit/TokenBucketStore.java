@@ -0,0 +1,21 @@
+package com.suyash.api_gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage for token buckets used by the RateLimitFilter.
+ * The in-memory implementation limits each gateway node on its own; a shared implementation (for example
+ * one backed by Redis) can be registered as a bean to enforce one limit across all gateway nodes.
+ */
+public interface TokenBucketStore {
+    /**
+     * Takes one token from the bucket with the given key, refilling it first for the time since the last call.
+     * A bucket that does not exist yet starts full.
+     *
+     * @param key             the bucket key
+     * @param capacity        the maximum number of tokens the bucket holds, i.e. the allowed burst
+     * @param refillPerSecond the number of tokens added per second
+     * @return a Mono emitting true if a token was taken, false if the bucket is empty
+     */
+    Mono<Boolean> tryConsume(String key, long capacity, double refillPerSecond);
+}
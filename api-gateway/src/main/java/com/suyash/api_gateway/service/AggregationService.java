@@ -0,0 +1,10 @@
+package com.suyash.api_gateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.suyash.api_gateway.dto.ApiResponse;
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+public interface AggregationService {
+    Mono<ApiResponse<JsonNode>> aggregateEmployee(Long employeeId, Claims claims);
+}
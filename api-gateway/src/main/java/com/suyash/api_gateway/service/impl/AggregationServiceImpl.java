@@ -0,0 +1,140 @@
+package com.suyash.api_gateway.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.suyash.api_gateway.dto.ApiResponse;
+import com.suyash.api_gateway.exception.ResourceNotFoundException;
+import com.suyash.api_gateway.service.AggregationService;
+import com.suyash.api_gateway.util.IdentityHeaderSigner;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the AggregationService interface.
+ * Builds the employee document the UI used to assemble from three calls, with non-blocking calls to
+ * employee-service, department-service and review-service. The employee and review calls run in parallel;
+ * the department call starts as soon as the employee's department ID is known. Each call has its own timeout.
+ */
+@Service
+public class AggregationServiceImpl implements AggregationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregationServiceImpl.class);
+
+    private final WebClient webClient;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final Duration employeeTimeout;
+    private final Duration departmentTimeout;
+    private final Duration reviewTimeout;
+
+    /**
+     * The result of an optional call: its data, or a failure that makes the document partial.
+     */
+    private record Leg(JsonNode data, boolean failed) {
+        static Leg of(JsonNode data) {
+            return new Leg(data, false);
+        }
+
+        static Leg failure() {
+            return new Leg(null, true);
+        }
+    }
+
+    /**
+     * Constructs an AggregationServiceImpl.
+     *
+     * @param webClientBuilder     the load-balanced WebClient builder
+     * @param identityHeaderSigner the signer for the identity headers sent to downstream services
+     * @param employeeTimeout      the timeout of the employee call
+     * @param departmentTimeout    the timeout of the department call
+     * @param reviewTimeout        the timeout of the review call
+     */
+    public AggregationServiceImpl(WebClient.Builder webClientBuilder,
+                                  IdentityHeaderSigner identityHeaderSigner,
+                                  @Value("${aggregate.timeout.employee:1s}") Duration employeeTimeout,
+                                  @Value("${aggregate.timeout.department:500ms}") Duration departmentTimeout,
+                                  @Value("${aggregate.timeout.review:1s}") Duration reviewTimeout) {
+        this.webClient = webClientBuilder.build();
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.employeeTimeout = employeeTimeout;
+        this.departmentTimeout = departmentTimeout;
+        this.reviewTimeout = reviewTimeout;
+    }
+
+    /**
+     * Retrieves an employee together with its department and reviews.
+     * The employee is required; if the department or review call fails or times out,
+     * that part is left empty and the document is marked partial.
+     *
+     * @param employeeId the ID of the employee
+     * @param claims     the claims of the caller's verified token, forwarded as signed identity headers
+     * @return a Mono with the merged employee document
+     */
+    @Override
+    public Mono<ApiResponse<JsonNode>> aggregateEmployee(Long employeeId, Claims claims) {
+        Consumer<HttpHeaders> identity = headers -> identityHeaderSigner.apply(headers, claims);
+
+        // fields=none: employee-service returns only its own data and does not call the other services
+        Mono<JsonNode> employee = fetch("http://employee-service/employees/{id}?fields=none", employeeTimeout, identity, employeeId)
+                .onErrorMap(WebClientResponseException.NotFound.class,
+                        ex -> new ResourceNotFoundException("Employee not found with id: " + employeeId))
+                .cache();
+
+        Mono<Leg> department = employee.flatMap(node -> {
+            JsonNode departmentId = node.path("department_id");
+            if (!departmentId.canConvertToLong()) {
+                return Mono.just(Leg.of(null));
+            }
+            return optional(fetch("http://department-service/departments/{id}", departmentTimeout, identity, departmentId.asLong()), "department");
+        });
+
+        Mono<Leg> reviews = optional(fetch("http://review-service/reviews?employeeId={id}", reviewTimeout, identity, employeeId), "review");
+
+        return Mono.zip(employee, department, reviews)
+                .map(parts -> {
+                    ObjectNode document = parts.getT1().deepCopy();
+                    Leg departmentLeg = parts.getT2();
+                    Leg reviewLeg = parts.getT3();
+
+                    document.set("department", departmentLeg.data() != null ? departmentLeg.data() : JsonNodeFactory.instance.nullNode());
+                    document.set("review", reviewLeg.data() != null && !reviewLeg.data().isNull()
+                            ? reviewLeg.data()
+                            : JsonNodeFactory.instance.arrayNode());
+                    document.put("partial", document.path("partial").asBoolean(false) || departmentLeg.failed() || reviewLeg.failed());
+                    return new ApiResponse<>(true, "Employee retrieved successfully", (JsonNode) document);
+                });
+    }
+
+    /**
+     * Calls a downstream service and unwraps the data of its ApiResponse.
+     */
+    private Mono<JsonNode> fetch(String uri, Duration timeout, Consumer<HttpHeaders> identity, Object... uriVariables) {
+        return webClient.get()
+                .uri(uri, uriVariables)
+                .headers(identity)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(body -> body.path("data"))
+                .timeout(timeout);
+    }
+
+    /**
+     * Turns a failed or timed-out optional call into a failed leg instead of failing the whole document.
+     */
+    private Mono<Leg> optional(Mono<JsonNode> call, String name) {
+        return call.map(Leg::of)
+                .onErrorResume(ex -> {
+                    LOGGER.warn("{} information unavailable, returning partial response: {}", name, ex.toString());
+                    return Mono.just(Leg.failure());
+                });
+    }
+}
@@ -0,0 +1,175 @@
+package com.suyash.api_gateway.util;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the public key a JWT was signed with, by the {@code kid} in its header, in an in-memory copy of
+ * auth-service's JSON Web Key Set. The set is fetched when the gateway starts and refreshed in the background,
+ * so validating a token never calls auth-service. A token with an unknown {@code kid} is rejected and triggers
+ * an early refresh, at most once per {@code min-refresh-interval}, in case a new key was activated before
+ * the scheduled refresh picked it up. Until the first fetch succeeds, every token is rejected.
+ */
+@Component
+public class JwksKeyLocator extends LocatorAdapter<Key> implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksKeyLocator.class);
+    private static final String METRIC_PREFIX = "jwt.jwks";
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalNanos;
+    private final Duration timeout;
+    private final AtomicLong lastRefreshNanos;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    private volatile Map<String, Key> keys = Map.of();
+    private volatile Disposable refreshSchedule;
+
+    /**
+     * Constructs a JwksKeyLocator.
+     *
+     * @param webClientBuilder   the load-balanced WebClient builder
+     * @param jwksUri            the URI of the JWKS, resolved through the service registry
+     * @param refreshInterval    how often the JWKS is fetched again
+     * @param minRefreshInterval the shortest time between two fetches triggered by unknown key IDs
+     * @param timeout            the timeout of a fetch
+     * @param meterRegistry      the registry the refresh metrics are exported to
+     */
+    public JwksKeyLocator(WebClient.Builder webClientBuilder,
+                          @Value("${jwt.jwks.uri:http://auth-service/auth/.well-known/jwks.json}") String jwksUri,
+                          @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                          @Value("${jwt.jwks.min-refresh-interval:10s}") Duration minRefreshInterval,
+                          @Value("${jwt.jwks.timeout:2s}") Duration timeout,
+                          MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.timeout = timeout;
+        this.lastRefreshNanos = new AtomicLong(System.nanoTime() - minRefreshIntervalNanos);
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        Gauge.builder(METRIC_PREFIX + ".keys", this, self -> self.keys.size())
+                .description("Number of JWT verification keys known to the gateway")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches the JWKS now and then every {@code refresh-interval}. Starts once the application is ready,
+     * so the service registry can already resolve auth-service.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refreshSchedule = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh())
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable schedule = refreshSchedule;
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Returns the public key for the token's {@code kid}.
+     *
+     * @param header the header of the signed token
+     * @return the key the token must have been signed with
+     * @throws JwtException if no key with that ID is known
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        Key key = kid != null ? keys.get(kid) : null;
+        if (key == null) {
+            refreshEarly();
+            throw new JwtException("Unknown signing key: " + kid);
+        }
+        return key;
+    }
+
+    private void refreshEarly() {
+        long last = lastRefreshNanos.get();
+        long now = System.nanoTime();
+        if (now - last >= minRefreshIntervalNanos && lastRefreshNanos.compareAndSet(last, now)) {
+            refresh().subscribe();
+        }
+    }
+
+    /**
+     * Fetches the JWKS and replaces the known keys with its public keys.
+     * A failed fetch is logged and keeps the known keys.
+     */
+    private Mono<Void> refresh() {
+        lastRefreshNanos.set(System.nanoTime());
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(timeout)
+                .map(JwksKeyLocator::parse)
+                .doOnNext(fetched -> {
+                    if (!fetched.keySet().equals(keys.keySet())) {
+                        LOGGER.info("JWT verification keys updated: {}", fetched.keySet());
+                    }
+                    keys = fetched;
+                    refreshSuccesses.increment();
+                })
+                .doOnError(ex -> {
+                    refreshFailures.increment();
+                    LOGGER.warn("Unable to refresh the JWKS from {}, keeping {} known keys: {}",
+                            jwksUri, keys.size(), ex.toString());
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private static Map<String, Key> parse(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, Key> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk instanceof PublicJwk<?> publicJwk && publicJwk.getId() != null) {
+                parsed.put(publicJwk.getId(), publicJwk.toKey());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_PREFIX + ".refresh")
+                .description("JWKS fetches by result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
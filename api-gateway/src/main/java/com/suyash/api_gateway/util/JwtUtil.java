@@ -1,29 +1,111 @@
 package com.suyash.api_gateway.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Validates JWT tokens presented to the gateway.
+ * Signatures are verified with auth-service's public keys, selected by the token's {@code kid} from the locally
+ * cached JWKS, so the gateway holds no secret and never calls auth-service to validate a token.
+ * The parser is built once at startup. Successfully validated tokens are remembered,
+ * by their SHA-256 hash, until they expire so repeated requests with the same token skip signature verification.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String SECRET;
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
 
-    public void validateToken(final String token) {
-        Jwts
-                .parser()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token);
+    private final JwtParser parser;
+    private final Cache<String, Claims> validatedTokens;
+    private final long maxTtlMillis;
+
+    /**
+     * Constructs a JwtUtil with a parser verifying against the cached JWKS and a bounded cache of validated tokens.
+     *
+     * @param keyLocator    the locator of the public key by the token's key ID
+     * @param cacheMaxSize  the maximum number of validated tokens to remember
+     * @param maxTtlMillis  the longest time a validated token is remembered, even if it expires later
+     * @param meterRegistry the registry the cache hit/miss metrics are exported to
+     */
+    public JwtUtil(JwksKeyLocator keyLocator,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+                   @Value("${jwt.cache.max-ttl-ms:600000}") long maxTtlMillis,
+                   MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser().keyLocator(keyLocator).build();
+        this.maxTtlMillis = maxTtlMillis;
+        this.validatedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validatedTokens, "jwt.token.cache");
+    }
+
+    /**
+     * Validates the given token, verifying its signature only if it has not been validated before.
+     *
+     * @param token the compact JWT
+     * @return the claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or its signature does not match
+     */
+    public Claims validateToken(final String token) {
+        String tokenHash = hash(token);
+        Claims claims = validatedTokens.getIfPresent(tokenHash);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            validatedTokens.put(tokenHash, claims);
+        }
+        return claims;
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * Expires each cached token at its {@code exp} claim, capped at the configured maximum TTL.
+     */
+    private class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long ttlMillis = maxTtlMillis;
+            Date expiration = claims.getExpiration();
+            if (expiration != null) {
+                ttlMillis = Math.min(ttlMillis, expiration.getTime() - System.currentTimeMillis());
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,217 @@
+package com.suyash.api_gateway.util;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.suyash.api_gateway.dto.ApiResponse;
+import com.suyash.api_gateway.dto.TokenRevocationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The IDs (jti) of the tokens revoked in auth-service that have not expired yet.
+ * A check first consults a Bloom filter of the revoked IDs; only on a filter hit is the ID looked up in the exact map,
+ * so the check for a token that was never revoked costs a few hashes and memory reads.
+ * Revocations arrive within seconds through the fanout exchange auth-service publishes to, and the full list is
+ * fetched from {@code GET /auth/revocations} at startup and every {@code resync-interval} to catch missed messages.
+ * The fetch carries identity headers signed with the service role, the only callers auth-service serves the list to.
+ * Expired revocations are dropped on each sync; the filter is rebuilt once it holds many more IDs than the map.
+ * Writes are rare and synchronized; checks are lock-free.
+ */
+@Component
+public class TokenRevocationList implements DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final String METRIC_PREFIX = "gateway.revocation";
+    // short, but long enough to tolerate clock skew between the gateway and auth-service
+    private static final Duration SERVICE_IDENTITY_TTL = Duration.ofMinutes(1);
+    private static final ParameterizedTypeReference<ApiResponse<List<TokenRevocationDTO>>> REVOCATIONS_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final WebClient webClient;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final String revocationsUri;
+    private final Duration resyncInterval;
+    private final Duration timeout;
+    private final long minExpectedInsertions;
+    private final double falsePositiveProbability;
+    private final Counter negativeChecks;
+    private final Counter revokedChecks;
+    private final Counter falsePositiveChecks;
+
+    private volatile Filter filter;
+    private volatile Disposable resyncSchedule;
+
+    /**
+     * The Bloom filter of the revoked IDs and the number of IDs it was sized for.
+     */
+    private record Filter(BloomFilter<CharSequence> jtis, long capacity) {
+        boolean isOverCapacity() {
+            return jtis.approximateElementCount() > capacity;
+        }
+    }
+
+    /**
+     * Constructs a TokenRevocationList.
+     *
+     * @param webClientBuilder         the load-balanced WebClient builder
+     * @param identityHeaderSigner     the signer for the service identity the list is fetched with
+     * @param revocationsUri           the URI of the full revocation list, resolved through the service registry
+     * @param resyncInterval           how often the full list is fetched again
+     * @param timeout                  the timeout of a fetch
+     * @param minExpectedInsertions    the minimum number of IDs the filter is sized for
+     * @param falsePositiveProbability the target false positive probability of the filter
+     * @param meterRegistry            the registry the check metrics are exported to
+     */
+    public TokenRevocationList(WebClient.Builder webClientBuilder,
+                               IdentityHeaderSigner identityHeaderSigner,
+                               @Value("${gateway.revocation.uri:http://auth-service/auth/revocations}") String revocationsUri,
+                               @Value("${gateway.revocation.resync-interval:1m}") Duration resyncInterval,
+                               @Value("${gateway.revocation.timeout:2s}") Duration timeout,
+                               @Value("${gateway.revocation.expected-insertions:100000}") long minExpectedInsertions,
+                               @Value("${gateway.revocation.false-positive-probability:0.001}") double falsePositiveProbability,
+                               MeterRegistry meterRegistry) {
+        this.webClient = webClientBuilder.build();
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.revocationsUri = revocationsUri;
+        this.resyncInterval = resyncInterval;
+        this.timeout = timeout;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = newFilter(minExpectedInsertions);
+        this.negativeChecks = checkCounter(meterRegistry, "negative");
+        this.revokedChecks = checkCounter(meterRegistry, "revoked");
+        this.falsePositiveChecks = checkCounter(meterRegistry, "false_positive");
+        Gauge.builder(METRIC_PREFIX + ".entries", revoked, Map::size)
+                .description("Number of unexpired revoked tokens known to the gateway")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches the full list now and then every {@code resync-interval}. Starts once the application is ready,
+     * so the service registry can already resolve auth-service.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resyncSchedule = Flux.interval(Duration.ZERO, resyncInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> resync())
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable schedule = resyncSchedule;
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Checks whether the token with the given ID was revoked.
+     *
+     * @param jti the jti claim of the token, may be null for tokens issued without one
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        if (!filter.jtis().mightContain(jti)) {
+            negativeChecks.increment();
+            return false;
+        }
+        if (revoked.containsKey(jti)) {
+            revokedChecks.increment();
+            return true;
+        }
+        falsePositiveChecks.increment();
+        return false;
+    }
+
+    /**
+     * Adds a revoked token. The ID is added to the map before the filter, so a check that passes the filter
+     * always finds it.
+     *
+     * @param jti       the jti claim of the token
+     * @param expiresAt the expiry of the token, in epoch milliseconds
+     */
+    public synchronized void add(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (revoked.putIfAbsent(jti, expiresAt) == null) {
+            filter.jtis().put(jti);
+        }
+    }
+
+    /**
+     * Drops the revocations of expired tokens, which are rejected on their own, and rebuilds the filter
+     * once it is over capacity or mostly holds dropped IDs.
+     */
+    private synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        Filter current = filter;
+        if (current.isOverCapacity() || current.jtis().approximateElementCount() > 2L * revoked.size() + 1000) {
+            Filter next = newFilter(Math.max(minExpectedInsertions, 2L * revoked.size()));
+            revoked.keySet().forEach(jti -> next.jtis().put(jti));
+            filter = next;
+            LOGGER.info("Rebuilt the token revocation filter with {} revoked tokens", revoked.size());
+        }
+    }
+
+    /**
+     * Fetches the full list of revocations and adds any that were missed, then drops the expired ones.
+     * A failed fetch is logged and keeps the known revocations.
+     */
+    Mono<Void> resync() {
+        return webClient.get()
+                .uri(revocationsUri)
+                .headers(headers -> identityHeaderSigner.applyService(headers, SERVICE_IDENTITY_TTL))
+                .retrieve()
+                .bodyToMono(REVOCATIONS_TYPE)
+                .timeout(timeout)
+                .doOnNext(response -> {
+                    if (response.getData() != null) {
+                        response.getData().forEach(revocation -> add(revocation.getJti(), revocation.getExpiresAt()));
+                    }
+                })
+                .doOnError(ex -> LOGGER.warn("Unable to fetch the token revocations from {}, keeping {} known revocations: {}",
+                        revocationsUri, revoked.size(), ex.toString()))
+                .onErrorResume(ex -> Mono.empty())
+                .then(Mono.fromRunnable(this::purgeExpired));
+    }
+
+    private Filter newFilter(long expectedInsertions) {
+        return new Filter(BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions,
+                falsePositiveProbability), expectedInsertions);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_PREFIX + ".checks")
+                .description("Token revocation checks by result; negative checks were answered by the filter alone")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
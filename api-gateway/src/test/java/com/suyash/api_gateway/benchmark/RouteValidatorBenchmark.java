@@ -0,0 +1,137 @@
+package com.suyash.api_gateway.benchmark;
+
+import com.suyash.api_gateway.filter.RouteValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares the original stream-and-contains route check against the precompiled RouteValidator.
+ * The request mix approximates gateway traffic: mostly secured reads, with some logins.
+ * {@code authenticationFilterDecision} is the check AuthenticationFilter makes per request, with the
+ * per-route decision taken from the gateway's route table.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dbenchmark=RouteValidatorBenchmark}; exec:exec starts
+ * a JVM on the test classpath, so the JMH fork inherits it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteValidatorBenchmark {
+
+    private static final List<String> PATHS = List.of(
+            "/employees/42",
+            "/employees/1337",
+            "/employees",
+            "/employees/42",
+            "/departments/7",
+            "/departments/employees/Engineering",
+            "/reviews",
+            "/reviews/average-rating",
+            "/users/12",
+            "/auth/login"
+    );
+
+    // the predicate RouteValidator used before it was precompiled
+    private static final List<String> LEGACY_PUBLIC_URLS = List.of(
+            "/auth/login",
+            "/auth/register",
+            "/auth/verify-token",
+            "/eureka"
+    );
+    private static final Predicate<ServerHttpRequest> LEGACY_IS_SECURED =
+            request -> LEGACY_PUBLIC_URLS
+                    .stream()
+                    .noneMatch(uri -> request.getURI().getPath().contains(uri));
+
+    private ServerHttpRequest[] requests;
+    private boolean[] fullySecured;
+    private RouteValidator validator;
+
+    @Setup
+    public void setUp() {
+        requests = PATHS.stream()
+                .map(path -> MockServerHttpRequest.get(path).build())
+                .toArray(ServerHttpRequest[]::new);
+
+        // the routes of application.yml
+        GatewayProperties properties = new GatewayProperties();
+        properties.setRoutes(List.of(
+                new RouteDefinition("auth-service=lb://auth-service,Path=/auth/**"),
+                new RouteDefinition("user-service=lb://auth-service,Path=/users/**"),
+                new RouteDefinition("employee-service=lb://employee-service,Path=/employees/**"),
+                new RouteDefinition("department-service=lb://department-service,Path=/departments/**"),
+                new RouteDefinition("review-service=lb://review-service,Path=/reviews/**")
+        ));
+        validator = new RouteValidator(properties);
+
+        // decided once per route when AuthenticationFilter builds the route's filter
+        fullySecured = new boolean[PATHS.size()];
+        for (int i = 0; i < PATHS.size(); i++) {
+            fullySecured[i] = validator.isFullySecured(routeId(PATHS.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void legacyPredicate(Blackhole blackhole) {
+        for (ServerHttpRequest request : requests) {
+            blackhole.consume(LEGACY_IS_SECURED.test(request));
+        }
+    }
+
+    @Benchmark
+    public void precompiledMatcher(Blackhole blackhole) {
+        for (ServerHttpRequest request : requests) {
+            blackhole.consume(validator.isSecured(request));
+        }
+    }
+
+    @Benchmark
+    public void authenticationFilterDecision(Blackhole blackhole) {
+        for (int i = 0; i < requests.length; i++) {
+            blackhole.consume(fullySecured[i] || validator.isSecured(requests[i]));
+        }
+    }
+
+    private static String routeId(String path) {
+        if (path.startsWith("/auth")) {
+            return "auth-service";
+        }
+        if (path.startsWith("/users")) {
+            return "user-service";
+        }
+        if (path.startsWith("/employees")) {
+            return "employee-service";
+        }
+        return path.startsWith("/departments") ? "department-service" : "review-service";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteValidatorBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
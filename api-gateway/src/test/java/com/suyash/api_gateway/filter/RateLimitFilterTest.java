@@ -0,0 +1,61 @@
+package com.suyash.api_gateway.filter;
+
+import com.suyash.api_gateway.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    @Test
+    void fallsBackToAnInMemoryStoreWithoutATokenBucketStoreBean() {
+        GatewayFilter filter = filter(new StaticListableBeanFactory(), 1);
+
+        assertThat(statusOf(filter)).isNull();
+        assertThat(statusOf(filter)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void usesTheTokenBucketStoreBeanWhenOneIsDefined() {
+        List<String> keys = new ArrayList<>();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("sharedTokenBucketStore", (TokenBucketStore) (key, capacity, refillPerSecond) -> {
+            keys.add(key);
+            return Mono.just(true);
+        });
+        GatewayFilter filter = filter(beanFactory, 1);
+
+        assertThat(statusOf(filter)).isNull();
+        assertThat(statusOf(filter)).isNull();
+        // requests without claims, such as logins on the auth-service route, are keyed by client address
+        assertThat(keys).containsExactly("ip:192.0.2.1|auth-service", "ip:192.0.2.1|auth-service");
+    }
+
+    private static GatewayFilter filter(StaticListableBeanFactory beanFactory, long capacity) {
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(beanFactory.getBeanProvider(TokenBucketStore.class),
+                new SimpleMeterRegistry(), 100, 50, 4, 100);
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setRouteId("auth-service");
+        config.setCapacity(capacity);
+        config.setRefillPerSecond(0.001);
+        return rateLimitFilter.apply(config);
+    }
+
+    private static HttpStatus statusOf(GatewayFilter filter) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+                .remoteAddress(new InetSocketAddress("192.0.2.1", 40000)));
+        filter.filter(exchange, filtered -> Mono.empty()).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+}
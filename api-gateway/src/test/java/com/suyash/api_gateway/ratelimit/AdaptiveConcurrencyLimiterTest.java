@@ -0,0 +1,124 @@
+package com.suyash.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long TARGET_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void rejectsRequestsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(FAST_NANOS, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsByAboutOnePerLimitOfFastRequests() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        completeFast(limiter, 10);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        completeFast(limiter, 1);
+        assertThat(limiter.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void neverGrowsAboveTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 10);
+
+        completeFast(limiter, 100);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void slowRequestMultipliesTheLimitByTheBackoffRatio() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 1, 100);
+        clock.addAndGet(TARGET_NANOS);
+
+        complete(limiter, SLOW_NANOS, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void failedRequestMultipliesTheLimitByTheBackoffRatio() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 1, 100);
+        clock.addAndGet(TARGET_NANOS);
+
+        complete(limiter, FAST_NANOS, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void decreasesAtMostOncePerTargetLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 1, 100);
+        clock.addAndGet(TARGET_NANOS);
+
+        complete(limiter, SLOW_NANOS, false);
+        complete(limiter, SLOW_NANOS, false);
+        complete(limiter, FAST_NANOS, true);
+        assertThat(limiter.getLimit()).isEqualTo(20);
+
+        clock.addAndGet(TARGET_NANOS);
+        complete(limiter, SLOW_NANOS, false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void neverShrinksBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 8, 100);
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TARGET_NANOS);
+            complete(limiter, SLOW_NANOS, true);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void cancelFreesTheSlotWithoutAdaptingTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        clock.addAndGet(TARGET_NANOS);
+        assertThat(limiter.tryAcquire()).isTrue();
+
+        limiter.cancel();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, TARGET_NANOS, 0.5, clock::get);
+    }
+
+    private static void completeFast(AdaptiveConcurrencyLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            complete(limiter, FAST_NANOS, false);
+        }
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, long latencyNanos, boolean failed) {
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(latencyNanos, failed);
+    }
+}
@@ -0,0 +1,84 @@
+package com.suyash.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTokenBucketStoreTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void newBucketStartsFullAndAllowsTheBurst() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(4, 100, clock::get);
+
+        assertThat(store.tryConsumeNow("a", 3, 1)).isTrue();
+        assertThat(store.tryConsumeNow("a", 3, 1)).isTrue();
+        assertThat(store.tryConsumeNow("a", 3, 1)).isTrue();
+        assertThat(store.tryConsumeNow("a", 3, 1)).isFalse();
+    }
+
+    @Test
+    void refillsWithElapsedTime() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(4, 100, clock::get);
+        assertThat(store.tryConsumeNow("a", 1, 2)).isTrue();
+        assertThat(store.tryConsumeNow("a", 1, 2)).isFalse();
+
+        advance(250);
+        assertThat(store.tryConsumeNow("a", 1, 2)).isFalse();
+
+        advance(250);
+        assertThat(store.tryConsumeNow("a", 1, 2)).isTrue();
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(4, 100, clock::get);
+        assertThat(store.tryConsumeNow("a", 2, 10)).isTrue();
+        assertThat(store.tryConsumeNow("a", 2, 10)).isTrue();
+
+        advance(60_000);
+
+        assertThat(store.tryConsumeNow("a", 2, 10)).isTrue();
+        assertThat(store.tryConsumeNow("a", 2, 10)).isTrue();
+        assertThat(store.tryConsumeNow("a", 2, 10)).isFalse();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(4, 100, clock::get);
+        assertThat(store.tryConsumeNow("a", 1, 1)).isTrue();
+        assertThat(store.tryConsumeNow("a", 1, 1)).isFalse();
+
+        assertThat(store.tryConsumeNow("b", 1, 1)).isTrue();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedBucketWhenTheStripeIsFull() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(1, 2, clock::get);
+        assertThat(store.tryConsumeNow("a", 1, 1)).isTrue();
+        assertThat(store.tryConsumeNow("b", 1, 1)).isTrue();
+        // touching a makes b the least recently used bucket
+        assertThat(store.tryConsumeNow("a", 1, 1)).isFalse();
+
+        assertThat(store.tryConsumeNow("c", 1, 1)).isTrue();
+
+        // a was kept and is still empty, b was dropped and starts full again
+        assertThat(store.tryConsumeNow("a", 1, 1)).isFalse();
+        assertThat(store.tryConsumeNow("b", 1, 1)).isTrue();
+    }
+
+    @Test
+    void tryConsumeEmitsTheSynchronousResult() {
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(4, 100, clock::get);
+
+        assertThat(store.tryConsume("a", 1, 1).block()).isTrue();
+        assertThat(store.tryConsume("a", 1, 1).block()).isFalse();
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
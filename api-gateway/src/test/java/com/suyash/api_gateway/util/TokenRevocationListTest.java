@@ -0,0 +1,109 @@
+package com.suyash.api_gateway.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("token-revocation-list-test-secret".getBytes(StandardCharsets.UTF_8));
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> responseBody = new AtomicReference<>("{\"success\":true,\"data\":[]}");
+    private final AtomicReference<HttpStatus> responseStatus = new AtomicReference<>(HttpStatus.OK);
+
+    private final TokenRevocationList list = new TokenRevocationList(
+            WebClient.builder().exchangeFunction(request -> {
+                lastRequest.set(request);
+                return Mono.just(ClientResponse.create(responseStatus.get())
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(responseBody.get())
+                        .build());
+            }),
+            new IdentityHeaderSigner(SECRET),
+            "http://auth-service/auth/revocations",
+            Duration.ofMinutes(1),
+            Duration.ofSeconds(2),
+            100,
+            0.001,
+            new SimpleMeterRegistry());
+
+    @Test
+    void tokensWithoutARevocationAreNotRevoked() {
+        assertThat(list.isRevoked("unknown")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void addedTokensAreRevoked() {
+        list.add("revoked", inOneHour());
+
+        assertThat(list.isRevoked("revoked")).isTrue();
+        assertThat(list.isRevoked("other")).isFalse();
+    }
+
+    @Test
+    void ignoresRevocationsOfExpiredTokens() {
+        list.add("expired", System.currentTimeMillis() - 1);
+
+        assertThat(list.isRevoked("expired")).isFalse();
+    }
+
+    @Test
+    void resyncAddsTheRevocationsItMissed() {
+        responseBody.set("{\"success\":true,\"data\":[{\"jti\":\"missed\",\"expires_at\":" + inOneHour() + "}]}");
+
+        list.resync().block();
+
+        assertThat(list.isRevoked("missed")).isTrue();
+    }
+
+    @Test
+    void resyncFetchesWithTheSignedServiceIdentity() {
+        list.resync().block();
+
+        HttpHeaders headers = lastRequest.get().headers();
+        assertThat(headers.getFirst(IdentityHeaderSigner.SUBJECT_HEADER)).isEqualTo(IdentityHeaderSigner.SERVICE_SUBJECT);
+        assertThat(headers.getFirst(IdentityHeaderSigner.ROLES_HEADER)).isEqualTo(IdentityHeaderSigner.SERVICE_ROLE);
+        assertThat(headers.getFirst(IdentityHeaderSigner.SIGNATURE_HEADER)).isNotBlank();
+        long expires = Long.parseLong(headers.getFirst(IdentityHeaderSigner.EXPIRES_HEADER));
+        assertThat(expires).isGreaterThan(System.currentTimeMillis() / 1000);
+    }
+
+    @Test
+    void failedResyncKeepsTheKnownRevocations() {
+        list.add("revoked", inOneHour());
+        responseStatus.set(HttpStatus.FORBIDDEN);
+
+        list.resync().block();
+
+        assertThat(list.isRevoked("revoked")).isTrue();
+    }
+
+    @Test
+    void resyncDropsRevocationsOnceTheirTokensExpire() throws InterruptedException {
+        list.add("short-lived", System.currentTimeMillis() + 50);
+        Thread.sleep(100);
+
+        list.resync().block();
+
+        assertThat(list.isRevoked("short-lived")).isFalse();
+    }
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+    }
+}
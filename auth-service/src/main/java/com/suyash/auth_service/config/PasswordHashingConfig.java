@@ -0,0 +1,38 @@
+package com.suyash.auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the executor that hashes and verifies passwords.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    /**
+     * Bounded executor for BCrypt, which is CPU-bound, so the pool defaults to one thread per core.
+     * Once the pool and its queue are full, submissions are rejected instead of queueing without limit.
+     * The pool and queue metrics are published by Spring Boot as executor.* with name=passwordHashingExecutor.
+     *
+     * @param poolSize      The number of threads in the pool, or 0 for the number of available processors
+     * @param queueCapacity The number of hashes that may wait for a free thread
+     * @return ThreadPoolTaskExecutor for password hashing
+     */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${auth.password.hashing.pool-size:0}") int poolSize,
+            @Value("${auth.password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+}
@@ -1,42 +1,74 @@
 package com.suyash.auth_service.config;
 
+import com.suyash.auth_service.security.BoundedPasswordEncoder;
+import com.suyash.auth_service.security.ServiceIdentityFilter;
 import com.suyash.auth_service.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
+    /**
+     * BCrypt password encoder that hashes on the bounded password hashing executor.
+     * Passwords stored with a lower cost factor than the configured one are re-hashed on the next successful login.
+     *
+     * @param strength        The BCrypt cost factor, log2 of the number of rounds
+     * @param hashingExecutor The executor the hashes run on
+     * @param meterRegistry   The registry the hashing metrics are published to
+     * @return PasswordEncoder for user passwords
+     */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(
+            @Value("${auth.password.bcrypt-strength:10}") int strength,
+            @Qualifier(PasswordHashingConfig.PASSWORD_HASHING_EXECUTOR) ThreadPoolTaskExecutor hashingExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), hashingExecutor, meterRegistry);
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsServiceImpl userDetailsService() {
         return new UserDetailsServiceImpl();
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService());
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setUserDetailsPasswordService(userDetailsService());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
+    /**
+     * The revocation list is only served to the api-gateway, authenticated by its signed service identity;
+     * the other auth endpoints stay public.
+     *
+     * @param http               The HttpSecurity to configure
+     * @param internalAuthSecret The base64 encoded secret shared with the api-gateway
+     * @return SecurityFilterChain for all requests
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${internal-auth.secret}") String internalAuthSecret
+    ) throws Exception {
 //        return http
 //                .csrf().disable()
 //                .authorizeHttpRequests()
@@ -45,7 +77,9 @@ public class SecurityConfig {
 //                .build();
         http
                 .csrf((csrf) -> csrf.ignoringRequestMatchers("/**"))
+                .addFilterBefore(new ServiceIdentityFilter(internalAuthSecret), AuthorizationFilter.class)
                 .authorizeHttpRequests((authorizeRequests) -> authorizeRequests
+                        .requestMatchers(HttpMethod.GET, "/auth/revocations").hasAuthority(ServiceIdentityFilter.SERVICE_ROLE)
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/users/**").permitAll()
                         .anyRequest().authenticated()
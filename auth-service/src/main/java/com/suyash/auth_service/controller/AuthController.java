@@ -2,17 +2,25 @@ package com.suyash.auth_service.controller;
 
 import com.suyash.auth_service.dto.*;
 import com.suyash.auth_service.dto.Auth.LoginResponseDTO;
+import com.suyash.auth_service.dto.Auth.RefreshTokenRequestDTO;
+import com.suyash.auth_service.dto.Auth.TokenRevocationDTO;
 import com.suyash.auth_service.dto.Auth.TokenValidationRequestDTO;
 import com.suyash.auth_service.dto.Auth.UserLoginDTO;
 import com.suyash.auth_service.dto.Auth.UserRegisterDTO;
 import com.suyash.auth_service.service.AuthService;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
@@ -27,6 +35,11 @@ public class AuthController {
        return ResponseEntity.ok(authService.login(userLoginDto));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponseDTO>> refresh(@RequestBody RefreshTokenRequestDTO refreshTokenRequestDto) {
+        return ResponseEntity.ok(authService.refresh(refreshTokenRequestDto));
+    }
+
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<Void>> register(@RequestBody UserRegisterDTO userRegisterDto) {
         return new ResponseEntity<>(authService.register(userRegisterDto), HttpStatus.CREATED);
@@ -36,4 +49,21 @@ public class AuthController {
     public ResponseEntity<ApiResponse<Void>> verifyToken(@RequestBody TokenValidationRequestDTO token) {
         return ResponseEntity.ok(authService.verifyToken(token.getToken()));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/revoke")
+    public ResponseEntity<ApiResponse<Void>> revokeToken(@RequestBody TokenValidationRequestDTO token) {
+        return ResponseEntity.ok(authService.revokeToken(token.getToken()));
+    }
+
+    @GetMapping("/revocations")
+    public ResponseEntity<ApiResponse<List<TokenRevocationDTO>>> getRevocations() {
+        return ResponseEntity.ok(authService.getRevocations());
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(authService.getJwks());
+    }
+}
@@ -11,4 +11,9 @@ import lombok.NoArgsConstructor;
 public class LoginResponseDTO {
     @JsonProperty("access_token")
     private String accessToken;
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+    // lifetime of the access token in seconds
+    @JsonProperty("expires_in")
+    private long expiresIn;
 }
@@ -0,0 +1,14 @@
+package com.suyash.auth_service.dto.Auth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshTokenRequestDTO {
+    @JsonProperty("refresh_token")
+    private String refreshToken;
+}
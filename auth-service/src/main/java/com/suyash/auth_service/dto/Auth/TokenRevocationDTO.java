@@ -0,0 +1,19 @@
+package com.suyash.auth_service.dto.Auth;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A revoked token, published to the gateways and listed by GET /auth/revocations.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevocationDTO {
+    private String jti;
+    // epoch milliseconds at which the token expires and the revocation can be forgotten
+    @JsonProperty("expires_at")
+    private long expiresAt;
+}
@@ -3,6 +3,7 @@ package com.suyash.auth_service.exception;
 import com.suyash.auth_service.dto.ApiResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -45,6 +46,22 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles ServiceUnavailableException.
+     *
+     * @param ex      The ServiceUnavailableException instance
+     * @param request The WebRequest instance
+     * @return ResponseEntity with an error message and HTTP status 503
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        logger.warn("ServiceUnavailableException: {}", ex.getMessage());
+        ApiResponse<String> response = new ApiResponse<>(false, ex.getMessage(), null);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * Handles all other exceptions.
      *
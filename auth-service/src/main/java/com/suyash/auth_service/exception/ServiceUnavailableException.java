@@ -0,0 +1,7 @@
+package com.suyash.auth_service.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.suyash.auth_service.message;
+
+import com.suyash.auth_service.config.RabbitMQConfig;
+import com.suyash.auth_service.dto.Auth.TokenRevocationDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TokenRevocationProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationProducer.class);
+    private final RabbitTemplate rabbitTemplate;
+
+    public TokenRevocationProducer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publishes a revoked token to the gateways.
+     * A failure to publish is logged but does not fail the revocation; the gateways pick it up
+     * on their next full sync from GET /auth/revocations.
+     *
+     * @param revocation The revoked token
+     */
+    public void sendRevocation(TokenRevocationDTO revocation) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.TOKEN_REVOCATIONS_EXCHANGE, "", revocation);
+        } catch (AmqpException ex) {
+            LOGGER.error("Failed to publish revocation of token {}", revocation.getJti(), ex);
+        }
+    }
+}
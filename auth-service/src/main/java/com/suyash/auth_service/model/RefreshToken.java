@@ -0,0 +1,57 @@
+package com.suyash.auth_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A refresh token, stored as the HMAC of its value so a leaked table cannot be replayed.
+ * Each refresh uses the token up and issues a new one in the same family; presenting a used token again
+ * means it was stolen, and revokes the whole family.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_tokens_family_id", columnList = "family_id"),
+        @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // the email the access tokens are issued for, so a refresh does not load the user
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // set when the token is exchanged or revoked; a used token is never accepted again
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    // the access token issued together with this refresh token, revoked with it after a password change,
+    // a deletion or a reuse; null for tokens issued before the ID was recorded
+    @Column(name = "access_token_jti")
+    private String accessTokenJti;
+
+    @Column(name = "access_token_expires_at")
+    private Instant accessTokenExpiresAt;
+}
@@ -0,0 +1,50 @@
+package com.suyash.auth_service.repository;
+
+import com.suyash.auth_service.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    List<RefreshToken> findByFamilyIdAndAccessTokenExpiresAtAfter(UUID familyId, Instant now);
+
+    List<RefreshToken> findByUserIdAndAccessTokenExpiresAtAfter(Long userId, Instant now);
+
+    boolean existsByFamilyIdAndUsedAtAfter(UUID familyId, Instant usedAt);
+
+    /**
+     * Marks a token as used, unless it already was. Concurrent refreshes with the same token
+     * cannot both succeed: only one of them updates the row.
+     *
+     * @param id  The ID of the token
+     * @param now The time of use
+     * @return 1 if the token was unused, 0 otherwise
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.id = :id and r.usedAt is null")
+    int markUsed(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.familyId = :familyId and r.usedAt is null")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.userId = :userId and r.usedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,128 @@
+package com.suyash.auth_service.security;
+
+import com.suyash.auth_service.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordEncoder that runs a CPU-heavy delegate, such as BCrypt, on a dedicated bounded executor.
+ * At most one hash per pool thread runs at a time, so a burst of logins cannot take all the CPU
+ * from the other endpoints. When the executor's queue is full the call fails right away with
+ * {@link ServiceUnavailableException} instead of waiting, and the request is answered with 503.
+ * {@link #upgradeEncoding(String)} only parses the encoded password and runs on the calling thread.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+    private static final String METRIC_PREFIX = "auth.password.hashing";
+
+    private final PasswordEncoder delegate;
+    private final AsyncTaskExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    /**
+     * Constructor for BoundedPasswordEncoder.
+     *
+     * @param delegate      The encoder that hashes and verifies the passwords
+     * @param executor      The bounded executor the delegate runs on
+     * @param meterRegistry The registry the hashing metrics are published to
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, AsyncTaskExecutor executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.queueWaitTimer = Timer.builder(METRIC_PREFIX + ".queue.wait")
+                .description("Time a password hash waited for a free hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a password on the hashing executor.
+     *
+     * @param rawPassword The password to hash
+     * @return The encoded password
+     * @throws ServiceUnavailableException if the hashing executor is saturated
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against its encoded form on the hashing executor.
+     *
+     * @param rawPassword     The password to verify
+     * @param encodedPassword The stored encoded password
+     * @return true if the password matches
+     * @throws ServiceUnavailableException if the hashing executor is saturated
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks whether an encoded password should be hashed again, for example because the cost factor was raised.
+     *
+     * @param encodedPassword The stored encoded password
+     * @return true if the password should be re-encoded
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer hashTimer, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            LOGGER.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceUnavailableException("Too many concurrent authentication requests, please retry");
+        }
+
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for password hashing");
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(METRIC_PREFIX)
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,193 @@
+package com.suyash.auth_service.security;
+
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The ES256 (ECDSA P-256) key pairs tokens are signed and verified with, read from {@code jwt.signing.*}.
+ * Every configured key is published in the JWKS, so consumers can verify tokens signed with it;
+ * only the key named by {@code active-kid} signs new tokens, and it must have a private key.
+ * Keys are read again when the configuration is refreshed, so a key is rotated without a restart by
+ * publishing the new key, waiting for consumers to pick up the JWKS, switching {@code active-kid},
+ * and removing the old key once the tokens it signed have expired.
+ * Without configured keys an ephemeral key pair is generated, which only suits a single instance in development.
+ */
+@Component
+public class JwtSigningKeys {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtSigningKeys.class);
+    private static final String PROPERTY_PREFIX = "jwt.signing";
+    private static final String KEY_ALGORITHM = "EC";
+    private static final String CURVE = "secp256r1";
+    private static final String SIGNATURE_ALGORITHM = "ES256";
+
+    private final Environment environment;
+    private volatile KeySet keySet;
+
+    /**
+     * A key pair as configured: base64 PKCS#8 private key and base64 X.509 public key.
+     * The private key may be left out for keys that are only published.
+     */
+    public record KeyProperties(String kid, String privateKey, String publicKey) {
+    }
+
+    /**
+     * The key new tokens are signed with.
+     */
+    public record SigningKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record KeySet(SigningKey active, Map<String, PublicKey> publicKeys, Map<String, Object> jwks) {
+    }
+
+    /**
+     * Constructor for JwtSigningKeys.
+     *
+     * @param environment The environment the {@code jwt.signing.*} properties are read from
+     */
+    public JwtSigningKeys(Environment environment) {
+        this.environment = environment;
+        this.keySet = load();
+    }
+
+    /**
+     * Reads the keys again after the configuration was refreshed. An invalid configuration is logged
+     * and the keys in use are kept.
+     *
+     * @param event The event listing the changed properties
+     */
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(PROPERTY_PREFIX))) {
+            return;
+        }
+        try {
+            keySet = load();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Invalid JWT signing key configuration, keeping the keys in use", ex);
+        }
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     *
+     * @return The active signing key
+     */
+    public SigningKey activeKey() {
+        return keySet.active();
+    }
+
+    /**
+     * Returns the public key with the given key ID.
+     *
+     * @param kid The key ID from the token header
+     * @return The public key, or null if no key with that ID is configured
+     */
+    public PublicKey publicKey(String kid) {
+        return kid != null ? keySet.publicKeys().get(kid) : null;
+    }
+
+    /**
+     * Returns the public keys as a JSON Web Key Set.
+     *
+     * @return The JWKS document, built when the keys were loaded
+     */
+    public Map<String, Object> jwks() {
+        return keySet.jwks();
+    }
+
+    private KeySet load() {
+        Binder binder = Binder.get(environment);
+        List<KeyProperties> configured = binder.bind(PROPERTY_PREFIX + ".keys", Bindable.listOf(KeyProperties.class))
+                .orElse(List.of());
+        if (configured.isEmpty()) {
+            LOGGER.warn("No JWT signing keys configured, generating an ephemeral key pair");
+            return ephemeral();
+        }
+        String activeKid = binder.bind(PROPERTY_PREFIX + ".active-kid", String.class)
+                .orElseGet(() -> configured.get(0).kid());
+
+        Map<String, PublicKey> publicKeys = new LinkedHashMap<>();
+        SigningKey active = null;
+        for (KeyProperties properties : configured) {
+            if (properties.kid() == null || properties.publicKey() == null) {
+                throw new IllegalStateException("Every JWT signing key needs a kid and a public key");
+            }
+            publicKeys.put(properties.kid(), decodePublicKey(properties.publicKey()));
+            if (properties.kid().equals(activeKid)) {
+                if (properties.privateKey() == null) {
+                    throw new IllegalStateException("The active JWT signing key " + activeKid + " has no private key");
+                }
+                active = new SigningKey(activeKid, decodePrivateKey(properties.privateKey()));
+            }
+        }
+        if (active == null) {
+            throw new IllegalStateException("The active JWT signing key " + activeKid + " is not configured");
+        }
+
+        LOGGER.info("Loaded {} JWT signing keys, signing with {}", publicKeys.size(), activeKid);
+        return keySet(active, publicKeys);
+    }
+
+    private static KeySet ephemeral() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(KEY_ALGORITHM);
+            generator.initialize(new ECGenParameterSpec(CURVE));
+            KeyPair keyPair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            return keySet(new SigningKey(kid, keyPair.getPrivate()), Map.of(kid, keyPair.getPublic()));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to generate a JWT signing key", ex);
+        }
+    }
+
+    private static KeySet keySet(SigningKey active, Map<String, PublicKey> publicKeys) {
+        List<Map<String, Object>> keys = new ArrayList<>(publicKeys.size());
+        publicKeys.forEach((kid, publicKey) -> keys.add(new LinkedHashMap<>(Jwks.builder()
+                .key((ECPublicKey) publicKey)
+                .id(kid)
+                .algorithm(SIGNATURE_ALGORITHM)
+                .publicKeyUse("sig")
+                .build())));
+        return new KeySet(active, Map.copyOf(publicKeys), Map.of("keys", List.copyOf(keys)));
+    }
+
+    private static PublicKey decodePublicKey(String base64) {
+        try {
+            return KeyFactory.getInstance(KEY_ALGORITHM).generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid JWT public key", ex);
+        }
+    }
+
+    private static PrivateKey decodePrivateKey(String base64) {
+        try {
+            return KeyFactory.getInstance(KEY_ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new IllegalStateException("Invalid JWT private key", ex);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.suyash.auth_service.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Generates refresh tokens and hashes them for storage.
+ * The tokens are 256 random bits, so a single keyed HMAC-SHA256 is enough to store them safely;
+ * unlike passwords they need no deliberately slow hash, and the hash is deterministic so it can be looked up by index.
+ */
+@Component
+public class RefreshTokenHasher {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Constructor for RefreshTokenHasher.
+     *
+     * @param secret The base64-encoded HMAC key
+     */
+    public RefreshTokenHasher(@Value("${auth.refresh-token.hmac-secret}") String secret) {
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(secret), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * Generates a new refresh token.
+     *
+     * @return The token, URL-safe base64
+     */
+    public String generate() {
+        byte[] token = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Hashes a refresh token for storage and lookup.
+     *
+     * @param token The token
+     * @return The HMAC of the token, URL-safe base64
+     */
+    public String hash(String token) {
+        byte[] digest = mac.get().doFinal(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+}
@@ -0,0 +1,99 @@
+package com.suyash.auth_service.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Authenticates requests the api-gateway makes on its own behalf, such as fetching the token revocations.
+ * The gateway signs them with the same internal HMAC secret as the identity headers it forwards downstream,
+ * but with the service role, which no user token carries. Requests with any other identity are left
+ * unauthenticated, so the security rules decide what they may call.
+ * Not a bean, so it only runs inside the security filter chain it is added to.
+ */
+public class ServiceIdentityFilter extends OncePerRequestFilter {
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceIdentityFilter.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Constructor for ServiceIdentityFilter.
+     *
+     * @param secret The base64 encoded secret shared with the api-gateway
+     */
+    public ServiceIdentityFilter(String secret) {
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+            }
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String subject = request.getHeader(SUBJECT_HEADER);
+        String roles = request.getHeader(ROLES_HEADER);
+        String expires = request.getHeader(EXPIRES_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+
+        if (subject != null && SERVICE_ROLE.equals(roles) && expires != null && signature != null) {
+            if (isSignatureValid(subject, roles, expires, signature) && !isExpired(expires)) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new PreAuthenticatedAuthenticationToken(subject, null,
+                        List.of(new SimpleGrantedAuthority(SERVICE_ROLE))));
+                SecurityContextHolder.setContext(context);
+            } else {
+                LOGGER.error("Rejected invalid or expired service identity for subject: {}", subject);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isSignatureValid(String subject, String roles, String expires, String signature) {
+        String payload = subject + "\n" + roles + "\n" + expires;
+        byte[] expected = mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            return MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isExpired(String expires) {
+        try {
+            return Long.parseLong(expires) < System.currentTimeMillis() / 1000;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
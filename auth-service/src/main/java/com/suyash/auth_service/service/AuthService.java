@@ -2,15 +2,28 @@ package com.suyash.auth_service.service;
 
 import com.suyash.auth_service.dto.ApiResponse;
 import com.suyash.auth_service.dto.Auth.LoginResponseDTO;
+import com.suyash.auth_service.dto.Auth.RefreshTokenRequestDTO;
+import com.suyash.auth_service.dto.Auth.TokenRevocationDTO;
 import com.suyash.auth_service.dto.Auth.UserLoginDTO;
 import com.suyash.auth_service.dto.Auth.UserRegisterDTO;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public interface AuthService {
     ApiResponse<LoginResponseDTO> login(UserLoginDTO userLoginDTO);
 
+    ApiResponse<LoginResponseDTO> refresh(RefreshTokenRequestDTO refreshTokenRequestDTO);
+
     ApiResponse<Void> register(UserRegisterDTO userRegisterDTO);
 
     ApiResponse<Void> verifyToken(String token);
+
+    ApiResponse<Void> revokeToken(String token);
+
+    ApiResponse<List<TokenRevocationDTO>> getRevocations();
+
+    Map<String, Object> getJwks();
 }
@@ -1,10 +1,23 @@
 package com.suyash.auth_service.service;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Map;
+
 @Service
 public interface JwtService {
-    void validateToken(String token);
+    Claims validateToken(String token);
     String generateToken(UserDetails userDetails);
+    AccessToken issueToken(String subject);
+    long getExpiresInSeconds();
+    Map<String, Object> getJwks();
+
+    /**
+     * An issued access token with the ID and expiry it can be revoked by.
+     */
+    record AccessToken(String token, String jti, Instant expiresAt) {
+    }
 }
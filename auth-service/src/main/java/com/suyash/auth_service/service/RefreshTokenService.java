@@ -0,0 +1,19 @@
+package com.suyash.auth_service.service;
+
+import org.springframework.stereotype.Service;
+
+@Service
+public interface RefreshTokenService {
+    Tokens issue(Long userId, String subject);
+
+    Tokens rotate(String refreshToken);
+
+    void revokeAllForUser(Long userId);
+
+    /**
+     * The result of a login or a refresh: the subject, its new access token and the refresh token
+     * replacing the used one, if any.
+     */
+    record Tokens(String subject, String accessToken, String refreshToken) {
+    }
+}
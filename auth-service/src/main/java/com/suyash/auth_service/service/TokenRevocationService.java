@@ -0,0 +1,10 @@
+package com.suyash.auth_service.service;
+
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+public interface TokenRevocationService {
+    void revoke(String jti, Instant expiresAt);
+}
@@ -2,8 +2,11 @@ package com.suyash.auth_service.service;
 
 import com.suyash.auth_service.model.User;
 import com.suyash.auth_service.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -11,7 +14,9 @@ import org.springframework.stereotype.Component;
 import java.util.Optional;
 
 @Component
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -23,4 +28,21 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         }
         return user.get();
     }
+
+    /**
+     * Stores a password that was re-hashed after a successful login, because its encoding was out of date,
+     * for example after the BCrypt cost factor was raised.
+     *
+     * @param user        The authenticated user
+     * @param newPassword The password encoded with the current settings
+     * @return The user with the new password
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User existingUser = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        existingUser.setPassword(newPassword);
+        LOGGER.info("Re-hashed password of user with email: {}", user.getUsername());
+        return userRepository.save(existingUser);
+    }
 }
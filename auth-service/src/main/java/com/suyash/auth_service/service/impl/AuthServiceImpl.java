@@ -2,21 +2,30 @@ package com.suyash.auth_service.service.impl;
 
 import com.suyash.auth_service.dto.ApiResponse;
 import com.suyash.auth_service.dto.Auth.LoginResponseDTO;
+import com.suyash.auth_service.dto.Auth.RefreshTokenRequestDTO;
+import com.suyash.auth_service.dto.Auth.TokenRevocationDTO;
 import com.suyash.auth_service.dto.Auth.UserLoginDTO;
 import com.suyash.auth_service.dto.Auth.UserRegisterDTO;
 import com.suyash.auth_service.model.User;
+import com.suyash.auth_service.repository.RevokedTokenRepository;
 import com.suyash.auth_service.repository.UserRepository;
 import com.suyash.auth_service.service.AuthService;
 import com.suyash.auth_service.service.JwtService;
+import com.suyash.auth_service.service.RefreshTokenService;
+import com.suyash.auth_service.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Implementation of the AuthService interface.
  */
@@ -27,27 +36,44 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Constructor for AuthServiceImpl.
      *
-     * @param userRepository The user repository
+     * @param userRepository          The user repository
+     * @param passwordEncoder         The password encoder
+     * @param jwtService              The service issuing and validating tokens
+     * @param authenticationManager   The authentication manager checking login credentials
+     * @param revokedTokenRepository  The repository of revoked tokens
+     * @param tokenRevocationService  The service revoking tokens and publishing the revocations
+     * @param refreshTokenService     The service issuing and rotating refresh tokens
      */
     public AuthServiceImpl(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
-            AuthenticationManager authenticationManager
+            AuthenticationManager authenticationManager,
+            RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationService tokenRevocationService,
+            RefreshTokenService refreshTokenService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
 
     /**
      * Login a user with the provided credentials.
+     * Returns a short-lived access token and a refresh token, so clients renew access through
+     * {@link #refresh(RefreshTokenRequestDTO)} instead of sending the password again.
      *
      * @param userLoginDTO The user's login credentials.
      * @return ApiResponse with the login response data.
@@ -62,11 +88,28 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
-        // generate a JWT token
-        String token = jwtService.generateToken((UserDetails) authentication.getPrincipal());
+        // generate a JWT token and a refresh token
+        User user = (User) authentication.getPrincipal();
+        RefreshTokenService.Tokens tokens = refreshTokenService.issue(user.getId(), user.getUsername());
         LOGGER.info("User with email: {} successfully logged in", userLoginDTO.getEmail());
 
-        return new ApiResponse<>(true, "Login successful", new LoginResponseDTO(token));
+        return new ApiResponse<>(true, "Login successful", new LoginResponseDTO(tokens.accessToken(), tokens.refreshToken(), jwtService.getExpiresInSeconds()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     * The presented refresh token is used up; no password is checked and the user is not loaded.
+     *
+     * @param refreshTokenRequestDTO The refresh token.
+     * @return ApiResponse with the new tokens.
+     * @throws IllegalArgumentException if the refresh token is invalid, expired or was already used.
+     */
+    @Override
+    public ApiResponse<LoginResponseDTO> refresh(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        RefreshTokenService.Tokens tokens = refreshTokenService.rotate(refreshTokenRequestDTO.getRefreshToken());
+        LOGGER.info("Refreshed token of user with email: {}", tokens.subject());
+
+        return new ApiResponse<>(true, "Token refreshed successfully", new LoginResponseDTO(tokens.accessToken(), tokens.refreshToken(), jwtService.getExpiresInSeconds()));
     }
 
     /**
@@ -108,12 +151,63 @@ public class AuthServiceImpl implements AuthService {
      *
      * @param token The JWT token to verify.
      * @return ApiResponse with the verification response data.
+     * @throws IllegalArgumentException if the token is invalid or has been revoked.
      */
     @Override
     public ApiResponse<Void> verifyToken(String token) {
         LOGGER.info("Verifying token: {}", token);
-        jwtService.validateToken(token);
+        Claims claims = jwtService.validateToken(token);
+        if (claims.getId() != null && revokedTokenRepository.existsById(claims.getId())) {
+            LOGGER.error("Token has been revoked: {}", claims.getId());
+            throw new IllegalArgumentException("Token has been revoked");
+        }
         LOGGER.info("Token verified: {}", token);
         return new ApiResponse<>(true, "Token verified successfully", null);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the public keys that verify the issued tokens.
+     *
+     * @return The JSON Web Key Set.
+     */
+    @Override
+    public Map<String, Object> getJwks() {
+        return jwtService.getJwks();
+    }
+
+    /**
+     * Revoke a token before it expires, and publish the revocation to the gateways.
+     * Revoking a token twice has no further effect.
+     *
+     * @param token The JWT token to revoke.
+     * @return ApiResponse with no content.
+     * @throws IllegalArgumentException if the token is invalid or has no ID.
+     */
+    @Override
+    public ApiResponse<Void> revokeToken(String token) {
+        Claims claims = jwtService.validateToken(token);
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            LOGGER.error("Token without ID or expiry cannot be revoked");
+            throw new IllegalArgumentException("Token cannot be revoked");
+        }
+
+        tokenRevocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+        LOGGER.info("Revoked token {} of user with email: {}", claims.getId(), claims.getSubject());
+
+        return new ApiResponse<>(true, "Token revoked successfully", null);
+    }
+
+    /**
+     * Get the revoked tokens that have not expired yet, for the gateways' full sync.
+     *
+     * @return ApiResponse with the unexpired revocations.
+     */
+    @Override
+    public ApiResponse<List<TokenRevocationDTO>> getRevocations() {
+        List<TokenRevocationDTO> revocations = revokedTokenRepository.findByExpiresAtAfter(Instant.now())
+                .stream()
+                .map(revokedToken -> new TokenRevocationDTO(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli()))
+                .toList();
+        return new ApiResponse<>(true, "Revocations retrieved successfully", revocations);
+    }
+}
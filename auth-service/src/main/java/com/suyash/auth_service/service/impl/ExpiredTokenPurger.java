@@ -0,0 +1,35 @@
+package com.suyash.auth_service.service.impl;
+
+import com.suyash.auth_service.repository.RefreshTokenRepository;
+import com.suyash.auth_service.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Deletes revocations of expired access tokens, which are rejected without them, and expired refresh tokens.
+ */
+@Component
+public class ExpiredTokenPurger {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExpiredTokenPurger.class);
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    public ExpiredTokenPurger(RevokedTokenRepository revokedTokenRepository, RefreshTokenRepository refreshTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int revocations = revokedTokenRepository.deleteExpired(now);
+        int refreshTokens = refreshTokenRepository.deleteExpired(now);
+        if (revocations > 0 || refreshTokens > 0) {
+            LOGGER.info("Purged {} expired token revocations and {} expired refresh tokens", revocations, refreshTokens);
+        }
+    }
+}
@@ -1,45 +1,75 @@
 package com.suyash.auth_service.service.impl;
 
+import com.suyash.auth_service.security.JwtSigningKeys;
 import com.suyash.auth_service.service.JwtService;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.security.PublicKey;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Implementation of the JwtService interface.
  * This service is responsible for generating and validating JWT tokens.
+ * Tokens are signed with the active ES256 key from {@link JwtSigningKeys} and carry its key ID in the {@code kid}
+ * header, so anyone holding the published JWKS can verify them without a shared secret.
+ * The parser is built once and looks up the verification key by {@code kid} on each call.
  */
 @Component
 public class JWTServiceImpl implements JwtService {
 
-    @Value("${jwt.secret}")
-    private String SECRET;
+    private final JwtSigningKeys signingKeys;
+    private final JwtParser parser;
+    private final long expirationMs;
+
+    /**
+     * Constructor for JWTServiceImpl.
+     *
+     * @param signingKeys  The keys tokens are signed and verified with
+     * @param expirationMs How long an issued token is valid, in milliseconds
+     */
+    public JWTServiceImpl(
+            JwtSigningKeys signingKeys,
+            @Value("${jwt.expiration-ms:900000}") long expirationMs
+    ) {
+        this.signingKeys = signingKeys;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        PublicKey publicKey = signingKeys.publicKey(header.getKeyId());
+                        if (publicKey == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return publicKey;
+                    }
+                })
+                .build();
+        this.expirationMs = expirationMs;
+    }
 
     /**
      * Validates the provided JWT token.
      *
      * @param token The JWT token to validate.
+     * @return The claims of the token.
      * @throws IllegalArgumentException if the token is invalid.
      */
     @Override
-    public void validateToken(String token) {
+    public Claims validateToken(String token) {
         try {
-            Jwts.parser()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-        } catch (Exception e) {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid token", e);
         }
     }
@@ -52,35 +82,61 @@ public class JWTServiceImpl implements JwtService {
      */
     @Override
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+        return createToken(userDetails.getUsername()).token();
     }
 
     /**
-     * Creates a JWT token with the provided claims and subject.
+     * Issues a JWT token for the provided subject, without loading the user.
      *
-     * @param claims The claims to include in the token.
-     * @param subject The subject of the token.
-     * @return The created JWT token.
+     * @param subject The email of the user.
+     * @return The issued JWT token with its ID and expiry.
      */
-    private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    @Override
+    public AccessToken issueToken(String subject) {
+        return createToken(subject);
     }
 
     /**
-     * Retrieves the signing key for the JWT tokens.
+     * Returns the lifetime of the issued tokens.
      *
-     * @return The signing key.
+     * @return The lifetime in seconds.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Override
+    public long getExpiresInSeconds() {
+        return expirationMs / 1000;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the public keys tokens are verified with.
+     *
+     * @return The JSON Web Key Set
+     */
+    @Override
+    public Map<String, Object> getJwks() {
+        return signingKeys.jwks();
+    }
+
+    /**
+     * Creates a JWT token for the provided subject. The tokens carry no custom claims, so the registered claims
+     * are set directly on the builder instead of through an intermediate claims map.
+     * Each token gets a random ID, the jti claim, by which it can be revoked.
+     *
+     * @param subject The subject of the token.
+     * @return The created JWT token with its ID and expiry.
+     */
+    private AccessToken createToken(String subject) {
+        JwtSigningKeys.SigningKey signingKey = signingKeys.activeKey();
+        String jti = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        Date expiration = new Date(now + expirationMs);
+        String token = Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
+                .id(jti)
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(expiration)
+                .signWith(signingKey.privateKey(), Jwts.SIG.ES256)
+                .compact();
+        return new AccessToken(token, jti, expiration.toInstant());
+    }
+}
@@ -0,0 +1,173 @@
+package com.suyash.auth_service.service.impl;
+
+import com.suyash.auth_service.model.RefreshToken;
+import com.suyash.auth_service.repository.RefreshTokenRepository;
+import com.suyash.auth_service.security.RefreshTokenHasher;
+import com.suyash.auth_service.service.JwtService;
+import com.suyash.auth_service.service.RefreshTokenService;
+import com.suyash.auth_service.service.TokenRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementation of the RefreshTokenService interface.
+ * A refresh costs one HMAC, one indexed read, one conditional update, one insert and the signature of the
+ * access token; no password is hashed and the user is not loaded.
+ * Each refresh token records the access token issued with it, so revoking the refresh tokens of a user or a family
+ * revokes their unexpired access tokens too.
+ */
+@Component
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenHasher refreshTokenHasher;
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final Duration ttl;
+    private final Duration reuseGrace;
+
+    /**
+     * Constructor for RefreshTokenServiceImpl.
+     *
+     * @param refreshTokenRepository The refresh token repository
+     * @param refreshTokenHasher     The generator and hasher of refresh tokens
+     * @param jwtService             The service issuing the access tokens
+     * @param tokenRevocationService The service revoking access tokens
+     * @param ttl                    How long a refresh token is valid
+     * @param reuseGrace             How long after its use a token may be presented again without revoking its family
+     */
+    public RefreshTokenServiceImpl(
+            RefreshTokenRepository refreshTokenRepository,
+            RefreshTokenHasher refreshTokenHasher,
+            JwtService jwtService,
+            TokenRevocationService tokenRevocationService,
+            @Value("${auth.refresh-token.ttl:14d}") Duration ttl,
+            @Value("${auth.refresh-token.reuse-grace:10s}") Duration reuseGrace
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenHasher = refreshTokenHasher;
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.ttl = ttl;
+        this.reuseGrace = reuseGrace;
+    }
+
+    /**
+     * Issues an access token and a refresh token in a new family, after a login.
+     *
+     * @param userId  The ID of the user
+     * @param subject The email the access tokens are issued for
+     * @return The subject, the access token and the refresh token
+     */
+    @Override
+    @Transactional
+    public Tokens issue(Long userId, String subject) {
+        return save(UUID.randomUUID(), userId, subject);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token in the same family.
+     * A token that was already used is evidence of theft: every token in its family and their access tokens
+     * are revoked, so both the attacker and the legitimate client have to log in again.
+     * A client that submits the same token twice at once, for example from two tabs, is not a theft:
+     * the request that loses the race, or repeats the latest exchange of the family within {@code reuse-grace},
+     * is rejected without revoking the family. The revocation is committed even though the call fails.
+     *
+     * @param refreshToken The refresh token presented by the client
+     * @return The subject of the token, a new access token and the replacement refresh token
+     * @throws IllegalArgumentException if the token is unknown, expired or was already used
+     */
+    @Override
+    @Transactional(noRollbackFor = IllegalArgumentException.class)
+    public Tokens rotate(String refreshToken) {
+        if (refreshToken == null) {
+            throw new IllegalArgumentException("Refresh token not provided");
+        }
+        Instant now = Instant.now();
+        RefreshToken existing = refreshTokenRepository.findByTokenHash(refreshTokenHasher.hash(refreshToken))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid refresh token"));
+
+        if (existing.getUsedAt() != null) {
+            if (isRepeatedLatestUse(existing, now)) {
+                LOGGER.info("Refresh token {} of user with email: {} presented again right after its use",
+                        existing.getId(), existing.getSubject());
+                throw new IllegalArgumentException("Refresh token already used");
+            }
+            revokeFamily(existing, now);
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+        if (refreshTokenRepository.markUsed(existing.getId(), now) == 0) {
+            // used by a concurrent request between the read and the update
+            LOGGER.info("Concurrent refresh with token {} of user with email: {}", existing.getId(), existing.getSubject());
+            throw new IllegalArgumentException("Refresh token already used");
+        }
+        if (!existing.getExpiresAt().isAfter(now)) {
+            throw new IllegalArgumentException("Refresh token expired");
+        }
+
+        return save(existing.getFamilyId(), existing.getUserId(), existing.getSubject());
+    }
+
+    /**
+     * Revokes every refresh token of a user and their unexpired access tokens, for example after a password change
+     * or when the user is deleted. The gateways reject the access tokens once the revocations reach them.
+     *
+     * @param userId The ID of the user
+     */
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        Instant now = Instant.now();
+        int revoked = refreshTokenRepository.revokeAllForUser(userId, now);
+        int accessTokens = revokeAccessTokens(refreshTokenRepository.findByUserIdAndAccessTokenExpiresAtAfter(userId, now));
+        LOGGER.info("Revoked {} refresh tokens and {} access tokens of user {}", revoked, accessTokens, userId);
+    }
+
+    /**
+     * Checks whether a used token is the latest one of its family to be used, and was used within the grace period;
+     * its replacement is then still unused, and presenting it again is most likely a double submit.
+     */
+    private boolean isRepeatedLatestUse(RefreshToken existing, Instant now) {
+        return existing.getUsedAt().isAfter(now.minus(reuseGrace))
+                && !refreshTokenRepository.existsByFamilyIdAndUsedAtAfter(existing.getFamilyId(), existing.getUsedAt());
+    }
+
+    private void revokeFamily(RefreshToken existing, Instant now) {
+        int revoked = refreshTokenRepository.revokeFamily(existing.getFamilyId(), now);
+        int accessTokens = revokeAccessTokens(
+                refreshTokenRepository.findByFamilyIdAndAccessTokenExpiresAtAfter(existing.getFamilyId(), now));
+        LOGGER.warn("Reuse of refresh token {} for user with email: {}, revoked {} tokens and {} access tokens of its family",
+                existing.getId(), existing.getSubject(), revoked, accessTokens);
+    }
+
+    private int revokeAccessTokens(List<RefreshToken> refreshTokens) {
+        refreshTokens.forEach(refreshToken ->
+                tokenRevocationService.revoke(refreshToken.getAccessTokenJti(), refreshToken.getAccessTokenExpiresAt()));
+        return refreshTokens.size();
+    }
+
+    private Tokens save(UUID familyId, Long userId, String subject) {
+        JwtService.AccessToken accessToken = jwtService.issueToken(subject);
+        String token = refreshTokenHasher.generate();
+        refreshTokenRepository.save(new RefreshToken(
+                null,
+                refreshTokenHasher.hash(token),
+                familyId,
+                userId,
+                subject,
+                Instant.now().plus(ttl),
+                null,
+                accessToken.jti(),
+                accessToken.expiresAt()
+        ));
+        return new Tokens(subject, accessToken.token(), token);
+    }
+}
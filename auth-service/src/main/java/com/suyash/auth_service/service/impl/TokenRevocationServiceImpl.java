@@ -0,0 +1,64 @@
+package com.suyash.auth_service.service.impl;
+
+import com.suyash.auth_service.dto.Auth.TokenRevocationDTO;
+import com.suyash.auth_service.message.TokenRevocationProducer;
+import com.suyash.auth_service.model.RevokedToken;
+import com.suyash.auth_service.repository.RevokedTokenRepository;
+import com.suyash.auth_service.service.TokenRevocationService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Implementation of the TokenRevocationService interface.
+ * Revocations are stored for the gateways' full sync and published to them right away.
+ */
+@Component
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationProducer tokenRevocationProducer;
+
+    /**
+     * Constructor for TokenRevocationServiceImpl.
+     *
+     * @param revokedTokenRepository  The repository of revoked tokens
+     * @param tokenRevocationProducer The producer publishing revocations to the gateways
+     */
+    public TokenRevocationServiceImpl(
+            RevokedTokenRepository revokedTokenRepository,
+            TokenRevocationProducer tokenRevocationProducer
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenRevocationProducer = tokenRevocationProducer;
+    }
+
+    /**
+     * Revokes an access token before it expires. Revoking a token twice has no further effect.
+     * Inside a transaction the revocation is published once it commits, so the gateways never
+     * reject a token whose revocation was rolled back.
+     *
+     * @param jti       The ID of the token
+     * @param expiresAt The expiry of the token
+     */
+    @Override
+    public void revoke(String jti, Instant expiresAt) {
+        if (revokedTokenRepository.existsById(jti)) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, Instant.now()));
+
+        TokenRevocationDTO revocation = new TokenRevocationDTO(jti, expiresAt.toEpochMilli());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tokenRevocationProducer.sendRevocation(revocation);
+                }
+            });
+        } else {
+            tokenRevocationProducer.sendRevocation(revocation);
+        }
+    }
+}
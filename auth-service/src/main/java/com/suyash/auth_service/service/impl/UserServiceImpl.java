@@ -8,6 +8,7 @@ import com.suyash.auth_service.exception.UserNotFoundException;
 import com.suyash.auth_service.mapper.UserMapper;
 import com.suyash.auth_service.model.User;
 import com.suyash.auth_service.repository.UserRepository;
+import com.suyash.auth_service.service.RefreshTokenService;
 import com.suyash.auth_service.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,11 +27,16 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           UserMapper userMapper,
+                           RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
+        this.refreshTokenService = refreshTokenService;
     }
 
     /**
@@ -70,6 +76,7 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Updates a user's password by ID.
+     * The user's refresh tokens are revoked, so every session has to log in with the new password.
      *
      * @param id                    The ID of the user to update.
      * @param userPasswordUpdateDto The user password update request data.
@@ -82,6 +89,7 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(userPasswordUpdateDto.getNewPassword()));
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(id);
 
         return new ApiResponse<>(true, "User password updated successfully", null);
     }
@@ -128,6 +136,7 @@ public class UserServiceImpl implements UserService {
             throw new UserNotFoundException("User not found");
         }
         userRepository.deleteById(id);
+        refreshTokenService.revokeAllForUser(id);
         return new ApiResponse<>(true, "User deleted successfully", null);
     }
 }
@@ -0,0 +1,130 @@
+package com.suyash.auth_service.benchmark;
+
+import com.suyash.auth_service.security.JwtSigningKeys;
+import com.suyash.auth_service.service.impl.JWTServiceImpl;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of JWT issuance and validation, in tokens per second on a single thread, i.e. per core.
+ * {@code issue} and {@code verify} measure the ES256 JWTServiceImpl, with an ephemeral key.
+ * The HMAC benchmarks measure HS256 with a key and parser built once, and the legacy benchmarks the original
+ * HS256 implementation, which decoded the secret, derived the key and built a parser on every call,
+ * so the cost of moving to asymmetric keys can be compared in the same run.
+ *
+ * <p>Run with {@code mvn test-compile exec:exec -Dbenchmark=JwtServiceBenchmark}; exec:exec starts
+ * a JVM on the test classpath, so the JMH fork inherits it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtServiceBenchmark {
+    private static final String SECRET = "RmYwbGF4MGQ0Zk1Dd3E5RmNhZkdWcGNYaUdITXlIUVNRNjFDT0d5bVVsZEVFdw==";
+    private static final long EXPIRATION_MS = 1000 * 60 * 24;
+
+    private JWTServiceImpl jwtService;
+    private UserDetails userDetails;
+    private String token;
+    private SecretKey hmacKey;
+    private JwtParser hmacParser;
+    private String hmacToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JWTServiceImpl(new JwtSigningKeys(new StandardEnvironment()), EXPIRATION_MS);
+        userDetails = User.withUsername("benchmark@example.com")
+                .password("unused")
+                .build();
+        token = jwtService.generateToken(userDetails);
+
+        hmacKey = legacySigningKey();
+        hmacParser = Jwts.parser().verifyWith(hmacKey).build();
+        hmacToken = issueHmac();
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public void verify() {
+        jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public String issueHmac() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_MS))
+                .signWith(hmacKey, Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Object verifyHmac() {
+        return hmacParser.parseSignedClaims(hmacToken);
+    }
+
+    @Benchmark
+    public String issueLegacy() {
+        Map<String, Object> claims = new HashMap<>();
+        return Jwts.builder()
+                .claims(claims)
+                .subject(userDetails.getUsername())
+                .issuedAt(new Date(System.currentTimeMillis()))
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
+                .signWith(legacySigningKey(), Jwts.SIG.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Object verifyLegacy() {
+        return Jwts.parser()
+                .verifyWith(legacySigningKey())
+                .build()
+                .parseSignedClaims(hmacToken);
+    }
+
+    private static SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.suyash.auth_service.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceIdentityFilterTest {
+    private static final byte[] SECRET = "service-identity-filter-test-secret".getBytes(StandardCharsets.UTF_8);
+
+    private final ServiceIdentityFilter filter = new ServiceIdentityFilter(Base64.getEncoder().encodeToString(SECRET));
+    private final AtomicReference<Authentication> authentication = new AtomicReference<>();
+    private final FilterChain chain = (request, response) ->
+            authentication.set(SecurityContextHolder.getContext().getAuthentication());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesASignedServiceIdentity() throws Exception {
+        filter.doFilter(signedRequest("api-gateway", "SERVICE", inOneMinute()), new MockHttpServletResponse(), chain);
+
+        assertThat(authentication.get().getName()).isEqualTo("api-gateway");
+        assertThat(authentication.get().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly(ServiceIdentityFilter.SERVICE_ROLE);
+    }
+
+    @Test
+    void leavesRequestsWithoutIdentityHeadersUnauthenticated() throws Exception {
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertThat(authentication.get()).isNull();
+    }
+
+    @Test
+    void ignoresUserIdentitiesForwardedByTheGateway() throws Exception {
+        filter.doFilter(signedRequest("user@example.com", "", inOneMinute()), new MockHttpServletResponse(), chain);
+
+        assertThat(authentication.get()).isNull();
+    }
+
+    @Test
+    void rejectsAServiceRoleWithAForgedSignature() throws Exception {
+        MockHttpServletRequest request = signedRequest("user@example.com", "", inOneMinute());
+        request.removeHeader(ServiceIdentityFilter.ROLES_HEADER);
+        request.addHeader(ServiceIdentityFilter.ROLES_HEADER, ServiceIdentityFilter.SERVICE_ROLE);
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(authentication.get()).isNull();
+    }
+
+    @Test
+    void rejectsAnExpiredServiceIdentity() throws Exception {
+        String expired = String.valueOf(System.currentTimeMillis() / 1000 - 1);
+
+        filter.doFilter(signedRequest("api-gateway", "SERVICE", expired), new MockHttpServletResponse(), chain);
+
+        assertThat(authentication.get()).isNull();
+    }
+
+    private static String inOneMinute() {
+        return String.valueOf(System.currentTimeMillis() / 1000 + 60);
+    }
+
+    private static MockHttpServletRequest signedRequest(String subject, String roles, String expires) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] signature = mac.doFinal((subject + "\n" + roles + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ServiceIdentityFilter.SUBJECT_HEADER, subject);
+        request.addHeader(ServiceIdentityFilter.ROLES_HEADER, roles);
+        request.addHeader(ServiceIdentityFilter.EXPIRES_HEADER, expires);
+        request.addHeader(ServiceIdentityFilter.SIGNATURE_HEADER, Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+        return request;
+    }
+}
@@ -0,0 +1,208 @@
+package com.suyash.auth_service.service.impl;
+
+import com.suyash.auth_service.model.RefreshToken;
+import com.suyash.auth_service.repository.RefreshTokenRepository;
+import com.suyash.auth_service.security.RefreshTokenHasher;
+import com.suyash.auth_service.service.JwtService;
+import com.suyash.auth_service.service.RefreshTokenService;
+import com.suyash.auth_service.service.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceImplTest {
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("refresh-token-service-test-secret".getBytes(StandardCharsets.UTF_8));
+    private static final String SUBJECT = "user@example.com";
+    private static final Instant ACCESS_TOKEN_EXPIRY = Instant.now().plus(Duration.ofMinutes(15));
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final RefreshTokenHasher refreshTokenHasher = new RefreshTokenHasher(SECRET);
+    private final JwtService jwtService = mock(JwtService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private final UUID familyId = UUID.randomUUID();
+
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtService.issueToken(SUBJECT)).thenAnswer(invocation ->
+                new JwtService.AccessToken("access-token", UUID.randomUUID().toString(), ACCESS_TOKEN_EXPIRY));
+        service = new RefreshTokenServiceImpl(refreshTokenRepository, refreshTokenHasher, jwtService,
+                tokenRevocationService, Duration.ofDays(14), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void rotateUsesTheTokenUpAndIssuesReplacementsInTheSameFamily() {
+        RefreshToken existing = stored("presented", null);
+        when(refreshTokenRepository.markUsed(eq(existing.getId()), any())).thenReturn(1);
+
+        RefreshTokenService.Tokens tokens = service.rotate("presented");
+
+        assertThat(tokens.subject()).isEqualTo(SUBJECT);
+        assertThat(tokens.accessToken()).isEqualTo("access-token");
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(familyId);
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(refreshTokenHasher.hash(tokens.refreshToken()));
+        assertThat(saved.getValue().getAccessTokenJti()).isNotNull();
+        assertThat(saved.getValue().getAccessTokenExpiresAt()).isEqualTo(ACCESS_TOKEN_EXPIRY);
+    }
+
+    @Test
+    void reuseRevokesTheFamilyAndItsAccessTokens() {
+        stored("stolen", Instant.now().minus(Duration.ofHours(1)));
+        RefreshToken latest = withAccessToken(new RefreshToken(), "latest-jti");
+        when(refreshTokenRepository.findByFamilyIdAndAccessTokenExpiresAtAfter(eq(familyId), any()))
+                .thenReturn(List.of(latest));
+
+        assertThatThrownBy(() -> service.rotate("stolen"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid refresh token");
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+        verify(tokenRevocationService).revoke("latest-jti", ACCESS_TOKEN_EXPIRY);
+        verify(refreshTokenRepository, never()).markUsed(anyLong(), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void repeatingTheLatestExchangeWithinTheGraceDoesNotRevokeTheFamily() {
+        stored("double-submitted", Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.existsByFamilyIdAndUsedAtAfter(eq(familyId), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> service.rotate("double-submitted"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Refresh token already used");
+
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        verify(tokenRevocationService, never()).revoke(any(), any());
+    }
+
+    @Test
+    void reuseWithinTheGraceOfAnOlderTokenStillRevokesTheFamily() {
+        stored("stolen", Instant.now().minusSeconds(1));
+        // its replacement was used as well, so this is not a double submit of the latest exchange
+        when(refreshTokenRepository.existsByFamilyIdAndUsedAtAfter(eq(familyId), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> service.rotate("stolen")).isInstanceOf(IllegalArgumentException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+    }
+
+    @Test
+    void concurrentRefreshesWithTheSameTokenIssueOneReplacementAndKeepTheFamily() throws Exception {
+        RefreshToken existing = stored("presented", null);
+        AtomicBoolean used = new AtomicBoolean();
+        // the conditional update lets exactly one of the concurrent requests mark the token used
+        when(refreshTokenRepository.markUsed(eq(existing.getId()), any()))
+                .thenAnswer(invocation -> used.compareAndSet(false, true) ? 1 : 0);
+
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<RefreshTokenService.Tokens> refresh = () -> {
+            start.await();
+            return service.rotate("presented");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<RefreshTokenService.Tokens>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(refresh));
+            results.add(executor.submit(refresh));
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<RefreshTokenService.Tokens> result : results) {
+                try {
+                    assertThat(result.get(5, TimeUnit.SECONDS).subject()).isEqualTo(SUBJECT);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause())
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessage("Refresh token already used");
+                }
+            }
+            assertThat(succeeded).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(refreshTokenRepository, times(1)).save(any());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void familyRevocationIsCommittedAlthoughTheRotationFails() {
+        stored("stolen", Instant.now().minus(Duration.ofHours(1)));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        TransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        ProxyFactory proxyFactory = new ProxyFactory(service);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        RefreshTokenService transactional = (RefreshTokenService) proxyFactory.getProxy();
+
+        assertThatThrownBy(() -> transactional.rotate("stolen")).isInstanceOf(IllegalArgumentException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(familyId), any());
+        verify(transactionManager).commit(status);
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void revokeAllForUserRevokesTheUnexpiredAccessTokens() {
+        when(refreshTokenRepository.findByUserIdAndAccessTokenExpiresAtAfter(eq(7L), any()))
+                .thenReturn(List.of(withAccessToken(new RefreshToken(), "first-jti"), withAccessToken(new RefreshToken(), "second-jti")));
+
+        service.revokeAllForUser(7L);
+
+        verify(refreshTokenRepository).revokeAllForUser(eq(7L), any());
+        verify(tokenRevocationService).revoke("first-jti", ACCESS_TOKEN_EXPIRY);
+        verify(tokenRevocationService).revoke("second-jti", ACCESS_TOKEN_EXPIRY);
+    }
+
+    private RefreshToken stored(String token, Instant usedAt) {
+        RefreshToken refreshToken = new RefreshToken(1L, refreshTokenHasher.hash(token), familyId, 7L, SUBJECT,
+                Instant.now().plus(Duration.ofDays(1)), usedAt, "jti", ACCESS_TOKEN_EXPIRY);
+        when(refreshTokenRepository.findByTokenHash(refreshToken.getTokenHash())).thenReturn(Optional.of(refreshToken));
+        return refreshToken;
+    }
+
+    private static RefreshToken withAccessToken(RefreshToken refreshToken, String jti) {
+        refreshToken.setAccessTokenJti(jti);
+        refreshToken.setAccessTokenExpiresAt(ACCESS_TOKEN_EXPIRY);
+        return refreshToken;
+    }
+}
@@ -0,0 +1,58 @@
+package com.suyash.departmentservice.cache;
+
+import com.suyash.departmentservice.config.RabbitMQConfig;
+import com.suyash.departmentservice.model.Department;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.event.AmqpEvent;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts departments from this instance's second-level cache.
+ * Hibernate only invalidates the cache of the instance that wrote, so every instance evicts the departments named by
+ * the department events, which are published for every create, update and delete on any instance.
+ * Events missed while the events consumer was down are covered by evicting everything once it starts again;
+ * while it is down, entries are stale for at most the region expiry in application.conf.
+ */
+@Component
+public class DepartmentCacheEvictor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentCacheEvictor.class);
+
+    private final Cache secondLevelCache;
+
+    public DepartmentCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Evicts the department, and the cached department queries that may hold it.
+     *
+     * @param departmentId The ID of the changed department
+     */
+    public void evict(Long departmentId) {
+        secondLevelCache.evictEntityData(Department.class, departmentId);
+        secondLevelCache.evictDefaultQueryRegion();
+    }
+
+    /**
+     * Evicts every cached department once the department events consumer has started, or restarted after a failure,
+     * as the evictions published while it was down were missed.
+     *
+     * @param event The consumer start event of any listener container
+     */
+    @EventListener({AsyncConsumerStartedEvent.class, AsyncConsumerRestartedEvent.class})
+    public void onEventsConsumerStarted(AmqpEvent event) {
+        if (event.getSource() instanceof AbstractMessageListenerContainer container
+                && RabbitMQConfig.DEPARTMENT_EVENTS_LISTENER.equals(container.getListenerId())) {
+            secondLevelCache.evictEntityData(Department.class);
+            secondLevelCache.evictDefaultQueryRegion();
+            LOGGER.info("Department events consumer started, evicted all cached departments");
+        }
+    }
+}
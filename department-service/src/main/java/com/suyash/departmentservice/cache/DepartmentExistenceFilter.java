@@ -0,0 +1,360 @@
+package com.suyash.departmentservice.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.suyash.departmentservice.config.RabbitMQConfig;
+import com.suyash.departmentservice.repository.DepartmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.event.AmqpEvent;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStoppedEvent;
+import org.springframework.amqp.rabbit.listener.ListenerContainerConsumerFailedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory Bloom filters of the department IDs and names in the database, used to answer existence checks.
+ * A filter miss means no department has that ID or name, so the check returns without a query;
+ * a filter hit is confirmed against the database.
+ * <p>
+ * Every instance keeps its own filters, so departments created or renamed by any instance are added from the
+ * department events fanout by every instance. A miss is only trusted while this instance is consuming those events
+ * and the filters were built from a scan that started after the consumer last (re)started;
+ * otherwise, and until the first build completes, every check goes to the database.
+ * Rows written outside this service are picked up by the periodic rebuild, every {@code rebuild-interval-ms}.
+ * Deleted departments stay in the filters and only cost a confirming query; the filters are also rebuilt
+ * once they hold more entries than they were sized for. Rebuilds run on the application's task scheduler.
+ */
+@Component
+public class DepartmentExistenceFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentExistenceFilter.class);
+    private static final String METRIC_PREFIX = "department.bloom";
+
+    private final DepartmentRepository departmentRepository;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long minExpectedInsertions;
+    private final double falsePositiveProbability;
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final Checks idChecks;
+    private final Checks nameChecks;
+
+    private volatile EventStream events = new EventStream(0, false);
+    private volatile Filters current;
+    private volatile Filters rebuilding;
+
+    /**
+     * The ID filter and the name filter, built and replaced together.
+     *
+     * @param capacity The number of entries the filters were sized for
+     * @param events   The state of the department events consumer when the scan started
+     */
+    private record Filters(BloomFilter<Long> ids, BloomFilter<CharSequence> names, long capacity, EventStream events) {
+    }
+
+    /**
+     * Whether the department events consumer is running; the epoch changes on every start, restart and stop,
+     * so filters built before a gap in the events no longer match.
+     */
+    private record EventStream(long epoch, boolean consuming) {
+    }
+
+    /**
+     * Counters of the outcomes of one kind of existence check.
+     */
+    private record Checks(Counter negative, Counter positive, Counter falsePositive) {
+        void record(boolean exists) {
+            (exists ? positive : falsePositive).increment();
+        }
+    }
+
+    /**
+     * Constructor for DepartmentExistenceFilter.
+     *
+     * @param departmentRepository     The department repository, read to build the filters
+     * @param taskScheduler            The scheduler the rebuilds run on
+     * @param transactionManager       The transaction manager, used to read the departments in a read-only transaction
+     * @param meterRegistry            The registry the filter metrics are published to
+     * @param minExpectedInsertions    The minimum number of entries each filter is sized for
+     * @param falsePositiveProbability The target false positive probability of each filter
+     */
+    public DepartmentExistenceFilter(DepartmentRepository departmentRepository,
+                                     TaskScheduler taskScheduler,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${department.bloom-filter.expected-insertions:10000}") long minExpectedInsertions,
+                                     @Value("${department.bloom-filter.false-positive-probability:0.01}") double falsePositiveProbability
+    ) {
+        this.departmentRepository = departmentRepository;
+        this.taskScheduler = taskScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.idChecks = checks(meterRegistry, "id");
+        this.nameChecks = checks(meterRegistry, "name");
+        gauges(meterRegistry, "id", Filters::ids);
+        gauges(meterRegistry, "name", Filters::names);
+    }
+
+    /**
+     * Rebuilds the filters once the department events consumer has started, or restarted after a failure,
+     * so no department saved by another instance can fall between the scan and the first event.
+     *
+     * @param event The consumer start event of any listener container
+     */
+    @EventListener({AsyncConsumerStartedEvent.class, AsyncConsumerRestartedEvent.class})
+    public void onEventsConsumerStarted(AmqpEvent event) {
+        if (isEventsListener(event) && eventsChanged(true, event instanceof AsyncConsumerRestartedEvent)) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Stops trusting filter misses while the department events consumer is down, as events are missed.
+     *
+     * @param event The consumer stop or failure event of any listener container
+     */
+    @EventListener({AsyncConsumerStoppedEvent.class, ListenerContainerConsumerFailedEvent.class})
+    public void onEventsConsumerStopped(AmqpEvent event) {
+        if (isEventsListener(event) && eventsChanged(false, false)) {
+            LOGGER.warn("Department events consumer stopped, existence checks will query the database until it restarts");
+        }
+    }
+
+    /**
+     * Rebuilds the filters periodically, to pick up departments written outside this service and drop deleted ones.
+     */
+    @Scheduled(initialDelayString = "${department.bloom-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${department.bloom-filter.rebuild-interval-ms:600000}")
+    public void rebuildPeriodically() {
+        requestRebuild();
+    }
+
+    /**
+     * Checks whether a department exists, querying the database only if the filter cannot rule it out.
+     *
+     * @param id       The ID of the department
+     * @param database The database check, called when the filter reports a possible match
+     * @return true if the department exists
+     */
+    public boolean existsById(Long id, Predicate<Long> database) {
+        Filters filters = trustedFilters();
+        if (filters != null && !filters.ids().mightContain(id)) {
+            idChecks.negative().increment();
+            return false;
+        }
+        boolean exists = database.test(id);
+        if (filters != null) {
+            idChecks.record(exists);
+        }
+        return exists;
+    }
+
+    /**
+     * Checks whether a department with the given name exists, querying the database only if the filter cannot rule it out.
+     *
+     * @param name     The name of the department
+     * @param database The database check, called when the filter reports a possible match
+     * @return true if a department has the name
+     */
+    public boolean existsByName(String name, Predicate<String> database) {
+        Filters filters = trustedFilters();
+        if (filters != null && !filters.names().mightContain(name)) {
+            nameChecks.negative().increment();
+            return false;
+        }
+        boolean exists = database.test(name);
+        if (filters != null) {
+            nameChecks.record(exists);
+        }
+        return exists;
+    }
+
+    /**
+     * Adds a created or updated department to the filters.
+     * The department is added right away, so it is visible before the transaction commits,
+     * and again after the commit, so a rebuild that started scanning before the commit cannot miss it.
+     * The other instances add it from the department event published for the change.
+     *
+     * @param id   The ID of the department
+     * @param name The name of the department
+     */
+    public void add(Long id, String name) {
+        addNow(id, name);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(id, name);
+                }
+            });
+        }
+    }
+
+    /**
+     * Puts a committed department into the filters being built and the filters in use. The rebuild publishes
+     * its filters before it stops accepting entries, so reading them in this order cannot miss both.
+     *
+     * @param id   The ID of the department
+     * @param name The name of the department
+     */
+    public void addNow(Long id, String name) {
+        Filters next = rebuilding;
+        Filters filters = current;
+        if (next != null) {
+            put(next, id, name);
+        }
+        if (filters != null && filters != next) {
+            put(filters, id, name);
+            if (filters.ids().approximateElementCount() > filters.capacity()) {
+                requestRebuild();
+            }
+        }
+    }
+
+    /**
+     * Builds new filters sized for the current number of departments from the department table,
+     * then swaps them in. Departments added while the scan runs are written to the new filters as well.
+     */
+    public void rebuild() {
+        EventStream stream = events;
+        long expected = Math.max(minExpectedInsertions, departmentRepository.count() * 2);
+        Filters next = new Filters(
+                BloomFilter.create(Funnels.longFunnel(), expected, falsePositiveProbability),
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expected, falsePositiveProbability),
+                expected,
+                stream
+        );
+        rebuilding = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                departmentRepository.findAllIdsAndNames()
+                        .forEach(row -> put(next, (Long) row[0], (String) row[1]));
+            });
+            current = next;
+            LOGGER.info("Built department existence filters with {} departments, sized for {}{}",
+                    next.ids().approximateElementCount(), expected,
+                    stream.consuming() ? "" : ", not trusted until the department events consumer runs");
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private Filters trustedFilters() {
+        Filters filters = current;
+        EventStream stream = events;
+        return filters != null && stream.consuming() && filters.events().equals(stream) ? filters : null;
+    }
+
+    private synchronized boolean eventsChanged(boolean consuming, boolean restarted) {
+        if (events.consuming() == consuming && !restarted) {
+            return false;
+        }
+        events = new EventStream(events.epoch() + 1, consuming);
+        return true;
+    }
+
+    private static boolean isEventsListener(AmqpEvent event) {
+        return event.getSource() instanceof AbstractMessageListenerContainer container
+                && RabbitMQConfig.DEPARTMENT_EVENTS_LISTENER.equals(container.getListenerId());
+    }
+
+    /**
+     * Runs a rebuild on the task scheduler. A request made while a rebuild runs is served by one more rebuild
+     * once it finishes, since the running scan may already have passed the change that prompted the request.
+     */
+    private void requestRebuild() {
+        rebuildPending.set(true);
+        if (rebuildRunning.compareAndSet(false, true)) {
+            try {
+                taskScheduler.schedule(this::rebuildInBackground, Instant.now());
+            } catch (TaskRejectedException ex) {
+                rebuildRunning.set(false);
+                LOGGER.warn("Unable to schedule a department existence filter rebuild: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        try {
+            while (rebuildPending.getAndSet(false)) {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    LOGGER.error("Unable to rebuild the department existence filters, checks will query the database", ex);
+                }
+            }
+        } finally {
+            rebuildRunning.set(false);
+        }
+        if (rebuildPending.get()) {
+            requestRebuild();
+        }
+    }
+
+    private static void put(Filters filters, Long id, String name) {
+        if (id != null) {
+            filters.ids().put(id);
+        }
+        if (name != null) {
+            filters.names().put(name);
+        }
+    }
+
+    private static Checks checks(MeterRegistry meterRegistry, String filter) {
+        return new Checks(
+                check(meterRegistry, filter, "negative"),
+                check(meterRegistry, filter, "positive"),
+                check(meterRegistry, filter, "false_positive")
+        );
+    }
+
+    private static Counter check(MeterRegistry meterRegistry, String filter, String result) {
+        return Counter.builder(METRIC_PREFIX + ".checks")
+                .description("Existence checks by filter outcome; negative checks were answered without the database")
+                .tag("filter", filter)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void gauges(MeterRegistry meterRegistry, String filter, Function<Filters, BloomFilter<?>> select) {
+        gauge(meterRegistry, filter, ".entries", "Approximate number of entries in the filter",
+                filters -> select.apply(filters).approximateElementCount());
+        gauge(meterRegistry, filter, ".expected.fpp", "Estimated false positive probability of the filter",
+                filters -> select.apply(filters).expectedFpp());
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String filter, String name, String description,
+                       ToDoubleFunction<Filters> value) {
+        Gauge.builder(METRIC_PREFIX + name, this, self -> {
+                    Filters filters = self.current;
+                    return filters != null ? value.applyAsDouble(filters) : 0;
+                })
+                .description(description)
+                .tag("filter", filter)
+                .register(meterRegistry);
+    }
+}
@@ -18,6 +18,7 @@ public interface EmployeeClient {
      * @param id
      * @return List<EmployeeResponseDTO>
      */
+    @LastKnownGood
     @GetMapping("/employees?departmentId={id}")
     ApiResponse<List<EmployeeResponseDTO>> findEmployeesByDepartmentId(@PathVariable Long id);
 }
@@ -0,0 +1,35 @@
+package com.suyash.departmentservice.config;
+
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    // every subscriber binds its own queue, so each instance of a consuming service sees every event
+    public static final String DEPARTMENT_EVENTS_EXCHANGE = "departmentEventsExchange";
+    // this service's own subscription, which keeps the existence filters of every instance up to date
+    public static final String DEPARTMENT_EVENTS_LISTENER = "departmentEventsListener";
+
+    @Bean
+    public FanoutExchange departmentEventsExchange() {
+        return new FanoutExchange(DEPARTMENT_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(jsonMessageConverter());
+        return template;
+    }
+}
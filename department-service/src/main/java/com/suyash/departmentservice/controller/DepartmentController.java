@@ -25,6 +25,11 @@ public class DepartmentController {
         return ResponseEntity.ok(departmentService.findAllDepartments());
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<ApiResponse<List<DepartmentResponseDTO>>> getDepartmentsByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(departmentService.findDepartmentsByIds(ids));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<DepartmentResponseDTO>> createDepartment(@RequestBody DepartmentRequestDTO departmentRequestDTO) {
         return new ResponseEntity<>(departmentService.createDepartment(departmentRequestDTO), HttpStatus.CREATED);
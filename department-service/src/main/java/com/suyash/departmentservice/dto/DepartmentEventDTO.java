@@ -0,0 +1,26 @@
+package com.suyash.departmentservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A DTO representing a change to a department, published so other services can invalidate cached copies.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentEventDTO {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    @JsonProperty("event_type")
+    private String eventType;
+    private Long id;
+    private String name;
+    // epoch milliseconds at which the change was made, used by consumers to measure invalidation lag
+    @JsonProperty("occurred_at")
+    private long occurredAt;
+}
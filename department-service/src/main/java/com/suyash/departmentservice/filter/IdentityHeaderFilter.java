@@ -0,0 +1,120 @@
+package com.suyash.departmentservice.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suyash.departmentservice.dto.ApiResponse;
+import com.suyash.departmentservice.dto.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Trusts the identity headers signed by the api-gateway after it has validated the caller's JWT.
+ * Verifying the header signature is a single HMAC over a few bytes, so the caller is known
+ * without parsing the JWT again or calling auth-service.
+ * Requests without identity headers, such as calls from other services, pass through unchanged.
+ */
+@Component
+public class IdentityHeaderFilter extends OncePerRequestFilter {
+    public static final String SUBJECT_HEADER = "X-Auth-Subject";
+    public static final String ROLES_HEADER = "X-Auth-Roles";
+    public static final String EXPIRES_HEADER = "X-Auth-Expires";
+    public static final String SIGNATURE_HEADER = "X-Auth-Signature";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdentityHeaderFilter.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ThreadLocal<Mac> mac;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for IdentityHeaderFilter.
+     *
+     * @param secret       The base64 encoded secret shared with the api-gateway
+     * @param objectMapper The ObjectMapper for writing error responses
+     */
+    public IdentityHeaderFilter(@Value("${internal-auth.secret}") String secret, ObjectMapper objectMapper) {
+        SecretKeySpec key = new SecretKeySpec(Base64.getDecoder().decode(secret), HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialise " + HMAC_ALGORITHM, e);
+            }
+        });
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        String subject = request.getHeader(SUBJECT_HEADER);
+        if (signature == null && subject == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String roles = headerOrEmpty(request, ROLES_HEADER);
+        String expires = headerOrEmpty(request, EXPIRES_HEADER);
+        subject = subject != null ? subject : "";
+
+        if (signature == null || !isSignatureValid(subject, roles, expires, signature)) {
+            LOGGER.error("Rejected request with invalid identity headers for subject: {}", subject);
+            reject(response, "Invalid identity headers");
+            return;
+        }
+
+        // an empty expiry is signed for tokens without an exp claim; compare in seconds so it cannot overflow
+        long expiresAt = expires.isEmpty() ? Long.MAX_VALUE : Long.parseLong(expires);
+        if (expiresAt < System.currentTimeMillis() / 1000) {
+            reject(response, "Identity has expired");
+            return;
+        }
+
+        List<String> roleList = roles.isEmpty() ? Collections.emptyList() : Arrays.asList(roles.split(","));
+        request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, new AuthenticatedUser(subject, roleList, expiresAt));
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean isSignatureValid(String subject, String roles, String expires, String signature) {
+        String payload = subject + "\n" + roles + "\n" + expires;
+        byte[] expected = mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            return MessageDigest.isEqual(expected, Base64.getUrlDecoder().decode(signature));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, message, null));
+    }
+
+    private static String headerOrEmpty(HttpServletRequest request, String name) {
+        String value = request.getHeader(name);
+        return value != null ? value : "";
+    }
+}
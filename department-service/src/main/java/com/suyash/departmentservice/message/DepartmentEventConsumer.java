@@ -0,0 +1,43 @@
+package com.suyash.departmentservice.message;
+
+import com.suyash.departmentservice.cache.DepartmentCacheEvictor;
+import com.suyash.departmentservice.cache.DepartmentExistenceFilter;
+import com.suyash.departmentservice.config.RabbitMQConfig;
+import com.suyash.departmentservice.dto.DepartmentEventDTO;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DepartmentEventConsumer {
+    private final DepartmentExistenceFilter departmentExistenceFilter;
+    private final DepartmentCacheEvictor departmentCacheEvictor;
+
+    public DepartmentEventConsumer(DepartmentExistenceFilter departmentExistenceFilter,
+                                   DepartmentCacheEvictor departmentCacheEvictor) {
+        this.departmentExistenceFilter = departmentExistenceFilter;
+        this.departmentCacheEvictor = departmentCacheEvictor;
+    }
+
+    /**
+     * Evicts departments changed by any instance, this one included, from this instance's second-level cache,
+     * and adds departments created or renamed by any instance to this instance's existence filters.
+     * Every instance listens on its own server-named, auto-delete queue, so each instance sees every event.
+     * Deleted departments stay in the filters until the next rebuild.
+     *
+     * @param event The department change event
+     */
+    @RabbitListener(id = RabbitMQConfig.DEPARTMENT_EVENTS_LISTENER, bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.DEPARTMENT_EVENTS_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void consumeEvent(DepartmentEventDTO event) {
+        departmentCacheEvictor.evict(event.getId());
+        if (!DepartmentEventDTO.DELETED.equals(event.getEventType())) {
+            departmentExistenceFilter.addNow(event.getId(), event.getName());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.suyash.departmentservice.message;
+
+import com.suyash.departmentservice.config.RabbitMQConfig;
+import com.suyash.departmentservice.dto.DepartmentEventDTO;
+import com.suyash.departmentservice.model.Department;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DepartmentEventProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentEventProducer.class);
+    private final RabbitTemplate rabbitTemplate;
+
+    public DepartmentEventProducer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publishes a department change event.
+     * A failure to publish is logged but does not fail the change; consumer caches expire on their own.
+     *
+     * @param eventType  The type of change, one of the DepartmentEventDTO constants
+     * @param department The changed department
+     */
+    public void sendEvent(String eventType, Department department) {
+        DepartmentEventDTO event = new DepartmentEventDTO(
+                eventType,
+                department.getId(),
+                department.getName(),
+                System.currentTimeMillis()
+        );
+
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.DEPARTMENT_EVENTS_EXCHANGE, "", event);
+        } catch (AmqpException ex) {
+            LOGGER.error("Failed to publish {} event for department {}", eventType, department.getId(), ex);
+        }
+    }
+}
@@ -1,22 +1,39 @@
 package com.suyash.departmentservice.repository;
 
 import com.suyash.departmentservice.model.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * A repository for the Department entity.
+ * Lookups by ID are served from the second-level cache; the query cache holds the results of the queries below
+ * until a department is written.
  */
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long>{
+    /**
+     * Finds all departments.
+     *
+     * @return A list of all departments
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll();
+
     /**
      * Checks if a department with the given name exists.
      *
      * @param name The name of the department
      * @return True if a department with the given name exists, false otherwise
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
 
     /**
@@ -25,5 +42,14 @@ public interface DepartmentRepository extends JpaRepository<Department, Long>{
      * @param name The name of the department
      * @return An Optional object containing the department if found
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByName(String name);
+
+    /**
+     * Finds the ID and name of every department, without loading the entities.
+     *
+     * @return A list of [id, name] rows
+     */
+    @Query("select d.id, d.name from Department d")
+    List<Object[]> findAllIdsAndNames();
 }
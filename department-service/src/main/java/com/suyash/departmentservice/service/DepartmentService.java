@@ -12,6 +12,8 @@ import java.util.List;
 public interface DepartmentService {
     ApiResponse<List<DepartmentResponseDTO>> findAllDepartments();
 
+    ApiResponse<List<DepartmentResponseDTO>> findDepartmentsByIds(List<Long> ids);
+
     ApiResponse<DepartmentResponseDTO> createDepartment(DepartmentRequestDTO employeeRequestDTO);
 
     ApiResponse<DepartmentResponseDTO> findDepartmentById(Long id);
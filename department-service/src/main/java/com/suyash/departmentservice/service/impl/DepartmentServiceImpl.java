@@ -1,9 +1,11 @@
 package com.suyash.departmentservice.service.impl;
 
+import com.suyash.departmentservice.cache.DepartmentExistenceFilter;
 import com.suyash.departmentservice.client.EmployeeClient;
 import com.suyash.departmentservice.dto.*;
 import com.suyash.departmentservice.exception.*;
 import com.suyash.departmentservice.mapper.DepartmentMapper;
+import com.suyash.departmentservice.message.DepartmentEventProducer;
 import com.suyash.departmentservice.model.Department;
 import com.suyash.departmentservice.repository.DepartmentRepository;
 import com.suyash.departmentservice.service.DepartmentService;
@@ -12,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -26,22 +29,30 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final DepartmentRepository departmentRepository;
     private final DepartmentMapper departmentMapper;
     private final EmployeeClient employeeClient;
+    private final DepartmentEventProducer departmentEventProducer;
+    private final DepartmentExistenceFilter departmentExistenceFilter;
 
     /**
      * Constructor for DepartmentServiceImpl.
      *
-     * @param departmentRepository The department repository
-     * @param departmentMapper     The department mapper
-     * @param employeeClient       The employee client
+     * @param departmentRepository      The department repository
+     * @param departmentMapper          The department mapper
+     * @param employeeClient            The employee client
+     * @param departmentEventProducer   The producer for department change events
+     * @param departmentExistenceFilter The Bloom filters answering department existence checks
      */
     public DepartmentServiceImpl(
             DepartmentRepository departmentRepository,
             DepartmentMapper departmentMapper,
-            EmployeeClient employeeClient
+            EmployeeClient employeeClient,
+            DepartmentEventProducer departmentEventProducer,
+            DepartmentExistenceFilter departmentExistenceFilter
     ) {
         this.departmentRepository = departmentRepository;
         this.departmentMapper = departmentMapper;
         this.employeeClient = employeeClient;
+        this.departmentEventProducer = departmentEventProducer;
+        this.departmentExistenceFilter = departmentExistenceFilter;
     }
 
     /**
@@ -65,6 +76,26 @@ public class DepartmentServiceImpl implements DepartmentService {
         return new ApiResponse<>(true, "Departments retrieved successfully", departments);
     }
 
+    /**
+     * Retrieves all departments with the given IDs in a single query.
+     * Unknown IDs are skipped, so the result may be smaller than the requested set.
+     *
+     * @param ids The IDs of the departments to retrieve
+     * @return ApiResponse containing a list of DepartmentResponseDTO objects
+     */
+    @Override
+    public ApiResponse<List<DepartmentResponseDTO>> findDepartmentsByIds(List<Long> ids) {
+        Objects.requireNonNull(ids, "Department IDs must not be null");
+
+        List<DepartmentResponseDTO> departments = departmentRepository.findAllById(new HashSet<>(ids))
+                .stream()
+                .map(departmentMapper::mapToDepartmentResponseDTO)
+                .collect(Collectors.toList());
+
+        LOGGER.info("Retrieved {} of {} requested Departments", departments.size(), ids.size());
+        return new ApiResponse<>(true, "Departments retrieved successfully", departments);
+    }
+
     /**
      * Creates a new department.
      *
@@ -75,13 +106,15 @@ public class DepartmentServiceImpl implements DepartmentService {
     public ApiResponse<DepartmentResponseDTO> createDepartment(DepartmentRequestDTO departmentRequestDTO) {
         Objects.requireNonNull(departmentRequestDTO, "DepartmentRequestDTO must not be null");
 
-        if (departmentRepository.existsByName(departmentRequestDTO.getName())) {
+        if (departmentExistenceFilter.existsByName(departmentRequestDTO.getName(), departmentRepository::existsByName)) {
             throw new DepartmentAlreadyExistsException("Department with name " + departmentRequestDTO.getName() + " already exists");
         }
 
         Department department = new Department(departmentRequestDTO.getName());
         Department savedDepartment = departmentRepository.save(department);
+        departmentExistenceFilter.add(savedDepartment.getId(), savedDepartment.getName());
         LOGGER.info("Created Department: {}", savedDepartment);
+        departmentEventProducer.sendEvent(DepartmentEventDTO.CREATED, savedDepartment);
         return new ApiResponse<>(true, "Department created successfully", departmentMapper.mapToDepartmentResponseDTO(savedDepartment));
     }
 
@@ -116,7 +149,9 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         existingDepartment.setName(departmentRequestDTO.getName());
         Department updatedDepartment = departmentRepository.save(existingDepartment);
+        departmentExistenceFilter.add(updatedDepartment.getId(), updatedDepartment.getName());
         LOGGER.info("Updated Department: {}", updatedDepartment);
+        departmentEventProducer.sendEvent(DepartmentEventDTO.UPDATED, updatedDepartment);
         return new ApiResponse<>(true, "Department updated successfully", departmentMapper.mapToDepartmentResponseDTO(updatedDepartment));
     }
 
@@ -135,6 +170,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         departmentRepository.delete(existingDepartment);
         LOGGER.info("Deleted Department: {}", existingDepartment);
+        departmentEventProducer.sendEvent(DepartmentEventDTO.DELETED, existingDepartment);
         return new ApiResponse<>(true, "Department deleted successfully", null);
     }
 
@@ -148,7 +184,8 @@ public class DepartmentServiceImpl implements DepartmentService {
     public ApiResponse<Boolean> departmentExists(Long id) {
         Objects.requireNonNull(id, "Department ID must not be null");
 
-        boolean exists = departmentRepository.existsById(id);
+        // loads the entity rather than counting, so a possible match is confirmed from the second-level cache
+        boolean exists = departmentExistenceFilter.existsById(id, departmentId -> departmentRepository.findById(departmentId).isPresent());
         return new ApiResponse<>(true, "Department with ID " + id + " exists", exists);
     }
 
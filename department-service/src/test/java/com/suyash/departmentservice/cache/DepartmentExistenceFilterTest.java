@@ -0,0 +1,120 @@
+package com.suyash.departmentservice.cache;
+
+import com.suyash.departmentservice.config.RabbitMQConfig;
+import com.suyash.departmentservice.repository.DepartmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStoppedEvent;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DepartmentExistenceFilterTest {
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMessageListenerContainer eventsContainer = new SimpleMessageListenerContainer();
+    private final List<Object[]> rows = new ArrayList<>();
+    private final AtomicInteger databaseChecks = new AtomicInteger();
+
+    private DepartmentExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 200; id++) {
+            rows.add(new Object[]{id, "Department " + id});
+        }
+        when(departmentRepository.count()).thenAnswer(invocation -> (long) rows.size());
+        when(departmentRepository.findAllIdsAndNames()).thenAnswer(invocation -> new ArrayList<>(rows));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // rebuilds run inline, so each test sees the rebuilt filters right away
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        });
+        eventsContainer.setListenerId(RabbitMQConfig.DEPARTMENT_EVENTS_LISTENER);
+
+        filter = new DepartmentExistenceFilter(departmentRepository, taskScheduler, transactionManager,
+                new SimpleMeterRegistry(), 100, 0.000001);
+    }
+
+    @Test
+    void queriesTheDatabaseUntilTheEventsConsumerRuns() {
+        filter.rebuild();
+
+        assertThat(filter.existsById(5000L, database(false))).isFalse();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    void neverRulesOutADepartmentThatExists() {
+        startEventsConsumer();
+
+        for (Object[] row : rows) {
+            assertThat(filter.existsById((Long) row[0], database(true))).isTrue();
+            assertThat(filter.existsByName((String) row[1], database(true))).isTrue();
+        }
+        assertThat(filter.existsById(5000L, database(false))).isFalse();
+        assertThat(filter.existsByName("Unknown", database(false))).isFalse();
+        assertThat(databaseChecks).hasValue(2 * rows.size());
+    }
+
+    @Test
+    void addsDepartmentsCreatedByOtherInstances() {
+        startEventsConsumer();
+
+        filter.addNow(5000L, "Research");
+
+        assertThat(filter.existsById(5000L, database(true))).isTrue();
+        assertThat(filter.existsByName("Research", database(true))).isTrue();
+    }
+
+    @Test
+    void queriesTheDatabaseWhileTheEventsConsumerIsStopped() {
+        startEventsConsumer();
+
+        filter.onEventsConsumerStopped(new AsyncConsumerStoppedEvent(eventsContainer, null));
+
+        assertThat(filter.existsByName("Research", database(true))).isTrue();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    void rebuildsOnceTheFiltersHoldMoreThanTheyWereSizedFor() {
+        startEventsConsumer();
+        rows.add(new Object[]{9999L, "Written elsewhere"});
+
+        // sized for 400 entries, twice the row count
+        for (long id = 1000; id < 1500; id++) {
+            filter.addNow(id, null);
+        }
+
+        assertThat(filter.existsByName("Written elsewhere", database(true))).isTrue();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    private void startEventsConsumer() {
+        filter.onEventsConsumerStarted(new AsyncConsumerStartedEvent(eventsContainer, null));
+    }
+
+    private <T> Predicate<T> database(boolean exists) {
+        return value -> {
+            databaseChecks.incrementAndGet();
+            return exists;
+        };
+    }
+}
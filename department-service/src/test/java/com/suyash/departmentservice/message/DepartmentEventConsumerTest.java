@@ -0,0 +1,34 @@
+package com.suyash.departmentservice.message;
+
+import com.suyash.departmentservice.cache.DepartmentCacheEvictor;
+import com.suyash.departmentservice.cache.DepartmentExistenceFilter;
+import com.suyash.departmentservice.dto.DepartmentEventDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class DepartmentEventConsumerTest {
+    private final DepartmentExistenceFilter departmentExistenceFilter = mock(DepartmentExistenceFilter.class);
+    private final DepartmentCacheEvictor departmentCacheEvictor = mock(DepartmentCacheEvictor.class);
+    private final DepartmentEventConsumer consumer =
+            new DepartmentEventConsumer(departmentExistenceFilter, departmentCacheEvictor);
+
+    @Test
+    void updatedDepartmentsAreEvictedAndAddedToTheFilters() {
+        consumer.consumeEvent(new DepartmentEventDTO(DepartmentEventDTO.UPDATED, 1L, "Research", 0));
+
+        verify(departmentCacheEvictor).evict(1L);
+        verify(departmentExistenceFilter).addNow(1L, "Research");
+    }
+
+    @Test
+    void deletedDepartmentsAreOnlyEvicted() {
+        consumer.consumeEvent(new DepartmentEventDTO(DepartmentEventDTO.DELETED, 2L, "Sales", 0));
+
+        verify(departmentCacheEvictor).evict(2L);
+        verify(departmentExistenceFilter, never()).addNow(any(), any());
+    }
+}
@@ -0,0 +1,204 @@
+package com.suyash.employeeservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.suyash.employeeservice.client.DepartmentClient;
+import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.DepartmentDTO;
+import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local cache of departments, keyed by department ID, in front of department-service.
+ * Departments that exist are kept for {@code ttl}; IDs that department-service reported as missing are
+ * remembered for the shorter {@code negative-ttl}, so repeated lookups of a bad ID do not reach the service.
+ * Entries are invalidated early by department change events, see DepartmentEventConsumer.
+ */
+@Component
+public class DepartmentCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentCache.class);
+    private static final String METRIC_PREFIX = "department.cache";
+
+    private final DepartmentClient departmentClient;
+    private final Cache<Long, Entry> cache;
+    private final int batchSize;
+    private final Timer invalidationLag;
+
+    /**
+     * A cached lookup result; the department is null when department-service reported the ID as missing.
+     */
+    private record Entry(DepartmentDTO department, long loadedAtMillis) {
+    }
+
+    /**
+     * Constructor for DepartmentCache.
+     *
+     * @param departmentClient The DepartmentClient for fetching departments on a miss
+     * @param meterRegistry    The registry the cache metrics are published to
+     * @param ttl              How long an existing department is cached
+     * @param negativeTtl      How long a missing department ID is cached
+     * @param maxSize          The maximum number of cached department IDs
+     * @param batchSize        The maximum number of IDs sent to department-service in one request
+     */
+    public DepartmentCache(DepartmentClient departmentClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${employee.department-cache.ttl:10m}") Duration ttl,
+                           @Value("${employee.department-cache.negative-ttl:30s}") Duration negativeTtl,
+                           @Value("${employee.department-cache.max-size:10000}") long maxSize,
+                           @Value("${employee.enrichment.batch-size:500}") int batchSize
+    ) {
+        this.departmentClient = departmentClient;
+        this.batchSize = batchSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_PREFIX);
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of department lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".oldest.entry.age", this, DepartmentCache::oldestEntryAgeSeconds)
+                .description("Age of the oldest cached department, an upper bound on how stale a cached department can be")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.invalidationLag = Timer.builder(METRIC_PREFIX + ".invalidation.lag")
+                .description("Time from a department change to the cache invalidation it triggered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a department, fetching it from department-service on a miss.
+     *
+     * @param departmentId The ID of the department
+     * @return An Optional containing the department, empty if department-service does not know the ID
+     */
+    public Optional<DepartmentDTO> get(Long departmentId) {
+        if (departmentId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(departmentId, this::load).department());
+    }
+
+    /**
+     * Checks if a department exists.
+     *
+     * @param departmentId The ID of the department
+     * @return true if department-service knows the department
+     */
+    public boolean exists(Long departmentId) {
+        return get(departmentId).isPresent();
+    }
+
+    /**
+     * Returns the departments with the given IDs, fetching all misses from department-service in batched requests.
+     * IDs that department-service does not know are absent from the result and cached as missing;
+     * IDs whose batch request failed are absent and not cached.
+     *
+     * @param departmentIds The IDs of the departments
+     * @return The known departments keyed by their ID
+     */
+    public Map<Long, DepartmentDTO> getAll(Set<Long> departmentIds) {
+        Map<Long, DepartmentDTO> departments = new HashMap<>();
+        cache.getAll(departmentIds, this::loadAll).forEach((id, entry) -> {
+            if (entry.department() != null) {
+                departments.put(id, entry.department());
+            }
+        });
+        return departments;
+    }
+
+    /**
+     * Drops a department from the cache, so the next lookup reads it from department-service.
+     *
+     * @param departmentId The ID of the changed department
+     * @param changedAt    The time of the change, in epoch milliseconds, or 0 if unknown
+     */
+    public void invalidate(Long departmentId, long changedAt) {
+        cache.invalidate(departmentId);
+        if (changedAt > 0) {
+            invalidationLag.record(Math.max(System.currentTimeMillis() - changedAt, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Entry load(Long departmentId) {
+        try {
+            ApiResponse<DepartmentDTO> apiResponse = departmentClient.getDepartment(departmentId);
+            if (apiResponse == null || !apiResponse.isSuccess()) {
+                throw new IllegalStateException("Failed to fetch department information for departmentId " + departmentId);
+            }
+            return new Entry(apiResponse.getData(), System.currentTimeMillis());
+        } catch (FeignException.NotFound ex) {
+            LOGGER.info("Department {} not found, caching the miss", departmentId);
+            return new Entry(null, System.currentTimeMillis());
+        }
+    }
+
+    private Map<Long, Entry> loadAll(Set<? extends Long> departmentIds) {
+        List<Long> idList = new ArrayList<>(departmentIds);
+        Map<Long, Entry> entries = new HashMap<>();
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            List<Long> batch = idList.subList(from, Math.min(from + batchSize, idList.size()));
+            ApiResponse<List<DepartmentDTO>> apiResponse = departmentClient.getDepartmentsByIds(batch);
+            if (apiResponse == null || !apiResponse.isSuccess() || apiResponse.getData() == null) {
+                LOGGER.error("Failed to fetch department information for {} departments", batch.size());
+                continue;
+            }
+
+            long now = System.currentTimeMillis();
+            apiResponse.getData().forEach(department -> entries.put(department.getId(), new Entry(department, now)));
+            // the batch endpoint skips unknown IDs, so whatever it did not return is missing
+            batch.forEach(id -> entries.putIfAbsent(id, new Entry(null, now)));
+        }
+        LOGGER.info("Fetched Department information for {} departments", entries.size());
+        return entries;
+    }
+
+    private double oldestEntryAgeSeconds() {
+        Collection<Entry> entries = cache.asMap().values();
+        long oldest = Long.MAX_VALUE;
+        for (Entry entry : entries) {
+            oldest = Math.min(oldest, entry.loadedAtMillis());
+        }
+        return oldest == Long.MAX_VALUE ? 0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    /**
+     * Expires existing departments after the TTL and missing departments after the shorter negative TTL.
+     */
+    private record EntryExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, Entry> {
+        @Override
+        public long expireAfterCreate(Long key, Entry value, long currentTime) {
+            return value.department() != null ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
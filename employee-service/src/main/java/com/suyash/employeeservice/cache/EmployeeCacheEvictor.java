@@ -0,0 +1,61 @@
+package com.suyash.employeeservice.cache;
+
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.model.Employee;
+import com.suyash.employeeservice.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.event.AmqpEvent;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts employees from this instance's second-level cache.
+ * Hibernate only invalidates the cache of the instance that wrote, so every instance evicts the employees named by
+ * the employee events, which are published for saves, deletions and rating writes on any instance.
+ * Events missed while the events consumer was down are covered by evicting everything once it starts again;
+ * while it is down, entries are stale for at most the region expiry in application.conf.
+ */
+@Component
+public class EmployeeCacheEvictor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeCacheEvictor.class);
+
+    private final Cache secondLevelCache;
+
+    public EmployeeCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    /**
+     * Evicts the employees, and the cached employee queries that may hold them.
+     *
+     * @param employeeIds The IDs of the changed employees
+     */
+    public void evict(Collection<Long> employeeIds) {
+        employeeIds.forEach(id -> secondLevelCache.evictEntityData(Employee.class, id));
+        secondLevelCache.evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+    }
+
+    /**
+     * Evicts every cached employee once the employee events consumer has started, or restarted after a failure,
+     * as the evictions published while it was down were missed.
+     *
+     * @param event The consumer start event of any listener container
+     */
+    @EventListener({AsyncConsumerStartedEvent.class, AsyncConsumerRestartedEvent.class})
+    public void onEventsConsumerStarted(AmqpEvent event) {
+        if (event.getSource() instanceof AbstractMessageListenerContainer container
+                && RabbitMQConfig.EMPLOYEE_EVENTS_LISTENER.equals(container.getListenerId())) {
+            secondLevelCache.evictEntityData(Employee.class);
+            secondLevelCache.evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+            LOGGER.info("Employee events consumer started, evicted all cached employees");
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.suyash.employeeservice.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
+import com.suyash.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.event.AmqpEvent;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStoppedEvent;
+import org.springframework.amqp.rabbit.listener.ListenerContainerConsumerFailedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of the employee IDs and emails in the database, used to answer existence checks.
+ * A filter miss means the employee or email definitely does not exist, so the check returns without a query;
+ * a filter hit is confirmed against the database.
+ * <p>
+ * Every instance keeps its own filters, so employees saved by any instance are published to the employee events
+ * fanout after the commit and added by every instance. A miss is only trusted while this instance is consuming
+ * those events and the filters were built from a scan that started after the consumer last (re)started;
+ * otherwise, and until the first build completes, every check goes to the database.
+ * Rows written outside this service are picked up by the periodic rebuild, every {@code rebuild-interval-ms}.
+ * Deleted employees stay in the filters and only cost a confirming query; the filters are also rebuilt
+ * once they hold more entries than they were sized for. Rebuilds run on the application's task scheduler.
+ */
+@Component
+public class EmployeeExistenceFilter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeExistenceFilter.class);
+    private static final String METRIC_PREFIX = "employee.bloom";
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeEventProducer employeeEventProducer;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long minExpectedInsertions;
+    private final double falsePositiveProbability;
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final Checks idChecks;
+    private final Checks emailChecks;
+
+    private volatile EventStream events = new EventStream(0, false);
+    private volatile Filters current;
+    private volatile Filters rebuilding;
+
+    /**
+     * The ID filter and the email filter, built and replaced together.
+     *
+     * @param capacity The number of entries the filters were sized for
+     * @param events   The state of the employee events consumer when the scan started
+     */
+    private record Filters(BloomFilter<Long> ids, BloomFilter<CharSequence> emails, long capacity, EventStream events) {
+    }
+
+    /**
+     * Whether the employee events consumer is running; the epoch changes on every start, restart and stop,
+     * so filters built before a gap in the events no longer match.
+     */
+    private record EventStream(long epoch, boolean consuming) {
+    }
+
+    /**
+     * The employees saved in the current transaction, added and published after the commit.
+     */
+    private record Saved(List<Long> ids, List<String> emails) {
+    }
+
+    /**
+     * Counters of the outcomes of one kind of existence check.
+     */
+    private record Checks(Counter negative, Counter positive, Counter falsePositive) {
+        void record(boolean exists) {
+            (exists ? positive : falsePositive).increment();
+        }
+    }
+
+    /**
+     * Constructor for EmployeeExistenceFilter.
+     *
+     * @param employeeRepository       The employee repository, scanned to build the filters
+     * @param employeeEventProducer    The producer publishing saved employees to the other instances
+     * @param taskScheduler            The scheduler the rebuilds run on
+     * @param transactionManager       The transaction manager, used to stream the employees in a read-only transaction
+     * @param meterRegistry            The registry the filter metrics are published to
+     * @param minExpectedInsertions    The minimum number of entries each filter is sized for
+     * @param falsePositiveProbability The target false positive probability of each filter
+     */
+    public EmployeeExistenceFilter(EmployeeRepository employeeRepository,
+                                   EmployeeEventProducer employeeEventProducer,
+                                   TaskScheduler taskScheduler,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${employee.bloom-filter.expected-insertions:100000}") long minExpectedInsertions,
+                                   @Value("${employee.bloom-filter.false-positive-probability:0.01}") double falsePositiveProbability
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.employeeEventProducer = employeeEventProducer;
+        this.taskScheduler = taskScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.idChecks = checks(meterRegistry, "id");
+        this.emailChecks = checks(meterRegistry, "email");
+        gauges(meterRegistry, "id", Filters::ids);
+        gauges(meterRegistry, "email", Filters::emails);
+    }
+
+    /**
+     * Rebuilds the filters once the employee events consumer has started, or restarted after a failure,
+     * so no employee saved by another instance can fall between the scan and the first event.
+     *
+     * @param event The consumer start event of any listener container
+     */
+    @EventListener({AsyncConsumerStartedEvent.class, AsyncConsumerRestartedEvent.class})
+    public void onEventsConsumerStarted(AmqpEvent event) {
+        if (isEventsListener(event) && eventsChanged(true, event instanceof AsyncConsumerRestartedEvent)) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Stops trusting filter misses while the employee events consumer is down, as events are missed.
+     *
+     * @param event The consumer stop or failure event of any listener container
+     */
+    @EventListener({AsyncConsumerStoppedEvent.class, ListenerContainerConsumerFailedEvent.class})
+    public void onEventsConsumerStopped(AmqpEvent event) {
+        if (isEventsListener(event) && eventsChanged(false, false)) {
+            LOGGER.warn("Employee events consumer stopped, existence checks will query the database until it restarts");
+        }
+    }
+
+    /**
+     * Rebuilds the filters periodically, to pick up employees written outside this service and drop deleted ones.
+     */
+    @Scheduled(initialDelayString = "${employee.bloom-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${employee.bloom-filter.rebuild-interval-ms:600000}")
+    public void rebuildPeriodically() {
+        requestRebuild();
+    }
+
+    /**
+     * Checks whether an employee exists, querying the database only if the filter cannot rule it out.
+     *
+     * @param id       The ID of the employee
+     * @param database The database check, called when the filter reports a possible match
+     * @return true if the employee exists
+     */
+    public boolean existsById(Long id, Predicate<Long> database) {
+        Filters filters = trustedFilters();
+        if (filters != null && !filters.ids().mightContain(id)) {
+            idChecks.negative().increment();
+            return false;
+        }
+        boolean exists = database.test(id);
+        if (filters != null) {
+            idChecks.record(exists);
+        }
+        return exists;
+    }
+
+    /**
+     * Checks whether an email belongs to an employee, querying the database only if the filter cannot rule it out.
+     *
+     * @param email    The email
+     * @param database The database check, called when the filter reports a possible match
+     * @return true if the email is taken
+     */
+    public boolean existsByEmail(String email, Predicate<String> database) {
+        Filters filters = trustedFilters();
+        if (filters != null && !filters.emails().mightContain(email)) {
+            emailChecks.negative().increment();
+            return false;
+        }
+        boolean exists = database.test(email);
+        if (filters != null) {
+            emailChecks.record(exists);
+        }
+        return exists;
+    }
+
+    /**
+     * Checks whether an email might belong to an employee, for callers that confirm many emails in one query.
+     * Report the outcome of the confirmed emails with {@link #recordEmailMatches(long, long)}.
+     *
+     * @param email The email
+     * @return false if the email is definitely not taken
+     */
+    public boolean mightContainEmail(String email) {
+        Filters filters = trustedFilters();
+        if (filters != null && !filters.emails().mightContain(email)) {
+            emailChecks.negative().increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records the outcome of emails that passed {@link #mightContainEmail(String)} and were checked in the database.
+     *
+     * @param checked The number of emails checked in the database
+     * @param taken   The number of them that were taken
+     */
+    public void recordEmailMatches(long checked, long taken) {
+        if (trustedFilters() != null) {
+            emailChecks.positive().increment(taken);
+            emailChecks.falsePositive().increment(checked - taken);
+        }
+    }
+
+    /**
+     * Adds a created or updated employee to the filters.
+     * The employee is added right away, so it is visible before the transaction commits. After the commit
+     * the employees saved in the transaction are added again, so a rebuild that started scanning before the commit
+     * cannot miss them, and published in one event to the filters of every instance.
+     *
+     * @param id    The ID of the employee
+     * @param email The email of the employee
+     */
+    public void add(Long id, String email) {
+        addNow(id, email);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            employeeEventProducer.sendSaved(Collections.singletonList(id), Collections.singletonList(email));
+            return;
+        }
+        Saved saved = savedInTransaction();
+        saved.ids().add(id);
+        saved.emails().add(email);
+    }
+
+    /**
+     * Adds employees saved by any instance, as published after their transaction committed.
+     *
+     * @param ids    The IDs of the saved employees
+     * @param emails The emails of the saved employees
+     */
+    public void addSaved(List<Long> ids, List<String> emails) {
+        Filters next = rebuilding;
+        Filters filters = current;
+        for (Filters target : new Filters[]{next, filters != next ? filters : null}) {
+            if (target != null) {
+                if (ids != null) {
+                    ids.forEach(id -> putId(target, id));
+                }
+                if (emails != null) {
+                    emails.forEach(email -> putEmail(target, email));
+                }
+            }
+        }
+        requestRebuildIfOverCapacity();
+    }
+
+    /**
+     * Builds new filters sized for the current number of employees from a scan of the employee table,
+     * then swaps them in. Employees added while the scan runs are written to the new filters as well.
+     */
+    public void rebuild() {
+        EventStream stream = events;
+        long expected = Math.max(minExpectedInsertions, employeeRepository.count() * 2);
+        Filters next = new Filters(
+                BloomFilter.create(Funnels.longFunnel(), expected, falsePositiveProbability),
+                BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expected, falsePositiveProbability),
+                expected,
+                stream
+        );
+        rebuilding = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = employeeRepository.streamIdsAndEmails()) {
+                    rows.forEach(row -> {
+                        putId(next, (Long) row[0]);
+                        putEmail(next, (String) row[1]);
+                    });
+                }
+            });
+            current = next;
+            LOGGER.info("Built employee existence filters with {} employees, sized for {}{}",
+                    next.ids().approximateElementCount(), expected,
+                    stream.consuming() ? "" : ", not trusted until the employee events consumer runs");
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private Filters trustedFilters() {
+        Filters filters = current;
+        EventStream stream = events;
+        return filters != null && stream.consuming() && filters.events().equals(stream) ? filters : null;
+    }
+
+    private synchronized boolean eventsChanged(boolean consuming, boolean restarted) {
+        if (events.consuming() == consuming && !restarted) {
+            return false;
+        }
+        events = new EventStream(events.epoch() + 1, consuming);
+        return true;
+    }
+
+    private static boolean isEventsListener(AmqpEvent event) {
+        return event.getSource() instanceof AbstractMessageListenerContainer container
+                && RabbitMQConfig.EMPLOYEE_EVENTS_LISTENER.equals(container.getListenerId());
+    }
+
+    private void requestRebuildIfOverCapacity() {
+        Filters filters = current;
+        if (filters != null && filters.ids().approximateElementCount() > filters.capacity()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Runs a rebuild on the task scheduler. A request made while a rebuild runs is served by one more rebuild
+     * once it finishes, since the running scan may already have passed the change that prompted the request.
+     */
+    private void requestRebuild() {
+        rebuildPending.set(true);
+        if (rebuildRunning.compareAndSet(false, true)) {
+            try {
+                taskScheduler.schedule(this::rebuildInBackground, Instant.now());
+            } catch (TaskRejectedException ex) {
+                rebuildRunning.set(false);
+                LOGGER.warn("Unable to schedule an employee existence filter rebuild: {}", ex.getMessage());
+            }
+        }
+    }
+
+    private void rebuildInBackground() {
+        try {
+            while (rebuildPending.getAndSet(false)) {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    LOGGER.error("Unable to rebuild the employee existence filters, checks will query the database", ex);
+                }
+            }
+        } finally {
+            rebuildRunning.set(false);
+        }
+        if (rebuildPending.get()) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Returns the employees saved in the current transaction, registering the synchronization that adds and
+     * publishes them after the commit on the first call.
+     */
+    private Saved savedInTransaction() {
+        Saved saved = (Saved) TransactionSynchronizationManager.getResource(this);
+        if (saved != null) {
+            return saved;
+        }
+        Saved created = new Saved(new ArrayList<>(), new ArrayList<>());
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addSaved(created.ids(), created.emails());
+                employeeEventProducer.sendSaved(created.ids(), created.emails());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeExistenceFilter.this);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Puts the entry into the filters being built and the filters in use. The rebuild publishes its filters
+     * before it stops accepting entries, so reading them in this order cannot miss both.
+     */
+    private void addNow(Long id, String email) {
+        addSaved(Collections.singletonList(id), Collections.singletonList(email));
+    }
+
+    private static void putId(Filters filters, Long id) {
+        if (id != null) {
+            filters.ids().put(id);
+        }
+    }
+
+    private static void putEmail(Filters filters, String email) {
+        if (email != null) {
+            filters.emails().put(email);
+        }
+    }
+
+    private static Checks checks(MeterRegistry meterRegistry, String filter) {
+        return new Checks(
+                check(meterRegistry, filter, "negative"),
+                check(meterRegistry, filter, "positive"),
+                check(meterRegistry, filter, "false_positive")
+        );
+    }
+
+    private static Counter check(MeterRegistry meterRegistry, String filter, String result) {
+        return Counter.builder(METRIC_PREFIX + ".checks")
+                .description("Existence checks by filter outcome; negative checks were answered without the database")
+                .tag("filter", filter)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void gauges(MeterRegistry meterRegistry, String filter, Function<Filters, BloomFilter<?>> select) {
+        gauge(meterRegistry, filter, ".entries", "Approximate number of entries in the filter",
+                filters -> select.apply(filters).approximateElementCount());
+        gauge(meterRegistry, filter, ".expected.fpp", "Estimated false positive probability of the filter",
+                filters -> select.apply(filters).expectedFpp());
+    }
+
+    private void gauge(MeterRegistry meterRegistry, String filter, String name, String description,
+                       ToDoubleFunction<Filters> value) {
+        Gauge.builder(METRIC_PREFIX + name, this, self -> {
+                    Filters filters = self.current;
+                    return filters != null ? value.applyAsDouble(filters) : 0;
+                })
+                .description(description)
+                .tag("filter", filter)
+                .register(meterRegistry);
+    }
+}
@@ -2,15 +2,25 @@ package com.suyash.employeeservice.client;
 
 import com.suyash.employeeservice.dto.ApiResponse;
 import com.suyash.employeeservice.dto.DepartmentDTO;
+import org.springframework.cloud.openfeign.CollectionFormat;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(name = "department-service")
 public interface DepartmentClient {
+    @LastKnownGood
     @GetMapping("/departments/{departmentId}")
     ApiResponse<DepartmentDTO> getDepartment(@PathVariable Long departmentId);
 
+    @LastKnownGood
+    @GetMapping("/departments")
+    @CollectionFormat(feign.CollectionFormat.CSV)
+    ApiResponse<List<DepartmentDTO>> getDepartmentsByIds(@RequestParam("ids") List<Long> departmentIds);
+
     @GetMapping("/departments/{departmentId}/exists")
     ApiResponse<Boolean> departmentExists(@PathVariable Long departmentId);
 }
@@ -0,0 +1,18 @@
+package com.suyash.employeeservice.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Feign client method used only to read or enrich data, whose last known good response may be served
+ * when the call fails, see {@link LastKnownGoodFallback}.
+ * Leave it off existence checks and other write preconditions: a stale answer there must fail closed.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LastKnownGood {
+}
@@ -0,0 +1,158 @@
+package com.suyash.employeeservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Fallback for the Feign client methods marked {@link LastKnownGood} that serves the last known good response.
+ * Only read and enrichment calls opt in; existence checks and other write preconditions are never answered
+ * from here, so they fail while the downstream service is unavailable.
+ * Every successful call is remembered, keyed by a SHA-256 hash of the client method and its arguments, so the
+ * batch calls with hundreds of IDs do not keep kilobyte-long keys. When a call fails because the downstream
+ * service is down, slow, or its circuit breaker is open, the remembered response for the same method and
+ * arguments is returned instead, for up to {@code max-age} after it was fetched.
+ * Responses are kept serialized: the cache is bounded by their total size, and every fallback returns a fresh
+ * copy that the caller may modify without affecting the remembered response.
+ * Client errors (4xx) are answers rather than outages and are always passed on to the caller.
+ * Without a remembered response the original failure is rethrown, unwrapped from the circuit breaker.
+ */
+@Aspect
+@Component
+public class LastKnownGoodFallback {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LastKnownGoodFallback.class);
+    private static final String METRIC_PREFIX = "feign.last-known-good";
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Cache<String, byte[]> responses;
+    private final ObjectMapper objectMapper;
+    private final Counter fallbacks;
+
+    /**
+     * Constructor for LastKnownGoodFallback.
+     *
+     * @param meterRegistry The registry the cache and fallback metrics are published to
+     * @param objectMapper  The ObjectMapper the remembered responses are serialized with
+     * @param maxAge        How long a response may be served after it was fetched
+     * @param maxSize       The maximum total size of the remembered responses, serialized
+     */
+    public LastKnownGoodFallback(MeterRegistry meterRegistry,
+                                 ObjectMapper objectMapper,
+                                 @Value("${employee.clients.last-known-good.max-age:1h}") Duration maxAge,
+                                 @Value("${employee.clients.last-known-good.max-size:32MB}") DataSize maxSize
+    ) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, byte[] response) -> key.length() + response.length)
+                .expireAfterWrite(maxAge)
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, METRIC_PREFIX);
+        this.fallbacks = Counter.builder(METRIC_PREFIX + ".served")
+                .description("Failed downstream calls answered with the last known good response")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calls the client method, remembering its response, or falls back to the last known good response.
+     *
+     * @param joinPoint The client method call
+     * @return The fresh response, or a copy of the last known good response if the call failed
+     * @throws Throwable The failure of the call, if it was a client error or no response is remembered
+     */
+    @Around("@annotation(com.suyash.employeeservice.client.LastKnownGood)")
+    public Object callWithFallback(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String key = key(signature, joinPoint.getArgs());
+        try {
+            Object response = joinPoint.proceed();
+            if (response != null) {
+                remember(key, response);
+            }
+            return response;
+        } catch (RuntimeException ex) {
+            RuntimeException cause = unwrap(ex);
+            if (cause instanceof FeignException.FeignClientException) {
+                throw cause;
+            }
+            byte[] lastKnownGood = responses.getIfPresent(key);
+            if (lastKnownGood == null) {
+                throw cause;
+            }
+            Object response = read(lastKnownGood, signature.getMethod().getGenericReturnType());
+            if (response == null) {
+                throw cause;
+            }
+            fallbacks.increment();
+            LOGGER.warn("Serving last known good response for {} after failure: {}",
+                    signature.toShortString(), cause.toString());
+            return response;
+        }
+    }
+
+    private void remember(String key, Object response) {
+        try {
+            responses.put(key, objectMapper.writeValueAsBytes(response));
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to remember the response of {}: {}", key, ex.toString());
+        }
+    }
+
+    private Object read(byte[] response, Type type) {
+        try {
+            return objectMapper.readValue(response, objectMapper.constructType(type));
+        } catch (IOException ex) {
+            LOGGER.warn("Unable to read a remembered response: {}", ex.toString());
+            return null;
+        }
+    }
+
+    private static String key(MethodSignature signature, Object[] args) {
+        MessageDigest digest = SHA_256.get();
+        digest.update(signature.toLongString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        byte[] hash = digest.digest(Arrays.deepToString(args).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Returns the exception the Feign call itself failed with, so callers keep seeing
+     * FeignException rather than the circuit breaker's wrapper.
+     */
+    private static RuntimeException unwrap(RuntimeException ex) {
+        if (ex instanceof NoFallbackAvailableException && ex.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return ex;
+    }
+}
@@ -2,6 +2,7 @@ package com.suyash.employeeservice.client;
 
 import com.suyash.employeeservice.dto.ApiResponse;
 import com.suyash.employeeservice.dto.ReviewDTO;
+import org.springframework.cloud.openfeign.CollectionFormat;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -10,9 +11,15 @@ import java.util.List;
 
 @FeignClient(name = "review-service")
 public interface ReviewClient {
+    @LastKnownGood
     @GetMapping("/reviews")
     ApiResponse<List<ReviewDTO>> getReviewByEmployeeId(@RequestParam("employeeId") Long employeeId);
 
+    @LastKnownGood
+    @GetMapping("/reviews")
+    @CollectionFormat(feign.CollectionFormat.CSV)
+    ApiResponse<List<ReviewDTO>> getReviewsByEmployeeIds(@RequestParam("employeeIds") List<Long> employeeIds);
+
     @GetMapping("/reviews/average-rating")
     ApiResponse<Double> getAverageRating(@RequestParam("employeeId") Long employeeId);
 }
@@ -0,0 +1,62 @@
+package com.suyash.employeeservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the executors used to call downstream services concurrently.
+ */
+@Configuration
+public class AsyncConfig {
+
+    public static final String ENRICHMENT_EXECUTOR = "enrichmentExecutor";
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
+
+    /**
+     * Bounded executor for fetching Department and Review information in parallel.
+     * The tracing context is propagated so downstream calls stay part of the request's trace.
+     * Once the pool and its queue are full, submissions are rejected instead of queueing without limit.
+     *
+     * @param poolSize      The number of threads in the pool
+     * @param queueCapacity The number of lookups that may wait for a free thread
+     * @return ThreadPoolTaskExecutor for enrichment lookups
+     */
+    @Bean(name = ENRICHMENT_EXECUTOR)
+    public ThreadPoolTaskExecutor enrichmentExecutor(
+            @Value("${employee.enrichment.async.pool-size:16}") int poolSize,
+            @Value("${employee.enrichment.async.queue-capacity:100}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("enrichment-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+
+    /**
+     * Bounded executor that writes streaming responses, such as the employee export.
+     * Each running export holds a database connection, so the pool size also limits concurrent exports.
+     *
+     * @param poolSize      The number of exports that may run at the same time
+     * @param queueCapacity The number of exports that may wait for a free thread
+     * @return ThreadPoolTaskExecutor for streaming responses
+     */
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor exportExecutor(
+            @Value("${employee.export.pool-size:4}") int poolSize,
+            @Value("${employee.export.queue-capacity:8}") int queueCapacity
+    ) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.suyash.employeeservice.config;
+
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Configuration for the Feign clients that call downstream services.
+ */
+@Configuration
+public class FeignConfig {
+
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+
+    /**
+     * Names each Feign circuit breaker after the service the client calls, so all methods of a client
+     * share one breaker, bulkhead and time limiter, configured under resilience4j.*.instances.{service-name}.
+     *
+     * @return CircuitBreakerNameResolver keyed by Feign client name
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
+    /**
+     * Asks downstream services for Smile instead of JSON, keeping JSON as the fallback for services
+     * that cannot produce Smile. Responses are decoded by whichever converter matches their content type;
+     * Spring MVC registers a Smile converter after the JSON one whenever jackson-dataformat-smile is on the
+     * classpath, so services answer Smile only to requests that ask for it.
+     *
+     * @return RequestInterceptor setting the Accept header of every Feign request
+     */
+    @Bean
+    @ConditionalOnProperty(name = "employee.clients.codec", havingValue = "smile")
+    public RequestInterceptor smileAcceptInterceptor() {
+        String accept = MediaType.APPLICATION_JSON_VALUE + ";q=0.9, " + SMILE_MEDIA_TYPE;
+        return template -> template.header(HttpHeaders.ACCEPT, accept);
+    }
+}
@@ -1,10 +1,19 @@
 package com.suyash.employeeservice.config;
 
+import com.suyash.employeeservice.message.RatingBatchRecoverer;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,10 +21,46 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String QUEUE_NAME = "employeeRatingQueue";
+    public static final String RATING_BATCH_LISTENER_FACTORY = "ratingBatchListenerFactory";
+    public static final String DEPARTMENT_EVENTS_EXCHANGE = "departmentEventsExchange";
+    // every instance binds its own queue, so each instance's existence filters see every saved employee
+    public static final String EMPLOYEE_EVENTS_EXCHANGE = "employeeEventsExchange";
+    public static final String EMPLOYEE_EVENTS_LISTENER = "employeeEventsListener";
+    public static final String DEAD_LETTER_EXCHANGE = "employeeRatingQueue.dlx";
+    public static final String DEAD_LETTER_QUEUE = "employeeRatingQueue.dlq";
 
+    /**
+     * Durable rating queue; messages that still fail after the listener's retries end up in the dead letter queue.
+     * The declaration must match the one in review-service.
+     */
     @Bean
     public Queue employeeRatingQueue() {
-        return new Queue("employeeRatingQueue", false);
+        return QueueBuilder.durable(QUEUE_NAME)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(DEAD_LETTER_QUEUE)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange employeeRatingDeadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue employeeRatingDeadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    @Bean
+    public Binding employeeRatingDeadLetterBinding() {
+        return BindingBuilder.bind(employeeRatingDeadLetterQueue())
+                .to(employeeRatingDeadLetterExchange())
+                .with(DEAD_LETTER_QUEUE);
+    }
+
+    @Bean
+    public FanoutExchange employeeEventsExchange() {
+        return new FanoutExchange(EMPLOYEE_EVENTS_EXCHANGE, true, false);
     }
 
     @Bean
@@ -29,4 +74,53 @@ public class RabbitMQConfig {
         template.setMessageConverter(jsonMessageConverter());
         return template;
     }
+
+    /**
+     * Listener container factory that hands rating messages to the listener in batches.
+     * A consumer delivers a batch once it holds {@code batchSize} messages or no message arrived for
+     * {@code receiveTimeoutMs}, whichever comes first.
+     * A failing batch is retried with backoff; once the attempts are used up, {@link RatingBatchRecoverer} applies
+     * its messages one at a time and moves only the ones that still fail to the dead letter queue, so one poison
+     * message does not take the valid messages of its batch with it.
+     *
+     * @param connectionFactory    The RabbitMQ connection factory
+     * @param ratingBatchRecoverer The recoverer of batches that failed every attempt
+     * @param batchSize            The maximum number of messages in one batch
+     * @param receiveTimeoutMs     How long a consumer waits for the next message before delivering a partial batch
+     * @param concurrency          The number of consumers started with the container
+     * @param maxConcurrency       The number of consumers the container may scale up to under load
+     * @param prefetch             The number of unacknowledged messages the broker sends to each consumer
+     * @param maxAttempts          The number of times a failing batch is processed before it is recovered
+     * @return SimpleRabbitListenerContainerFactory for batch rating listeners
+     */
+    @Bean(name = RATING_BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory ratingBatchListenerFactory(
+            ConnectionFactory connectionFactory,
+            RatingBatchRecoverer ratingBatchRecoverer,
+            @Value("${employee.rating.consumer.batch-size:100}") int batchSize,
+            @Value("${employee.rating.consumer.receive-timeout-ms:200}") long receiveTimeoutMs,
+            @Value("${employee.rating.consumer.concurrency:4}") int concurrency,
+            @Value("${employee.rating.consumer.max-concurrency:16}") int maxConcurrency,
+            @Value("${employee.rating.consumer.prefetch:250}") int prefetch,
+            @Value("${employee.rating.consumer.max-attempts:3}") int maxAttempts
+    ) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        // each consumer must be able to hold a full batch
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(maxAttempts)
+                .backOffOptions(200, 2.0, 2000)
+                .recoverer(ratingBatchRecoverer)
+                .build());
+        return factory;
+    }
 }
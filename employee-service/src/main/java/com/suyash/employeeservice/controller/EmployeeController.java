@@ -1,27 +1,79 @@
 package com.suyash.employeeservice.controller;
 
+import com.suyash.employeeservice.config.AsyncConfig;
 import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.EmployeeImportResultDTO;
+import com.suyash.employeeservice.dto.EmployeePageDTO;
 import com.suyash.employeeservice.dto.EmployeeRequestDTO;
 import com.suyash.employeeservice.dto.EmployeeResponseDTO;
+import com.suyash.employeeservice.service.EmployeeImportService;
 import com.suyash.employeeservice.service.EmployeeService;
+import com.suyash.employeeservice.util.EmployeeImportParser;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/employees")
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeImportParser employeeImportParser;
+    private final AsyncTaskExecutor exportExecutor;
+    private final long exportTimeoutMs;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              EmployeeImportService employeeImportService,
+                              EmployeeImportParser employeeImportParser,
+                              @Qualifier(AsyncConfig.EXPORT_EXECUTOR) AsyncTaskExecutor exportExecutor,
+                              @Value("${employee.export.timeout:30m}") Duration exportTimeout) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.employeeImportParser = employeeImportParser;
+        this.exportExecutor = exportExecutor;
+        this.exportTimeoutMs = exportTimeout.toMillis();
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<EmployeeResponseDTO>>> getAllEmployees(@RequestParam(required = false) Long departmentId) {
-        return ResponseEntity.ok(employeeService.findAllEmployees(departmentId));
+    public ResponseEntity<ApiResponse<List<EmployeeResponseDTO>>> getAllEmployees(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return ResponseEntity.ok(employeeService.findAllEmployees(departmentId, fields));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApiResponse<EmployeePageDTO>> getEmployeesPage(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long after,
+            @RequestParam int limit,
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return ResponseEntity.ok(employeeService.findEmployeesPage(departmentId, after, limit, fields));
+    }
+
+    // written on the bounded export executor with its own timeout; other async requests keep the MVC defaults
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public WebAsyncTask<Void> exportEmployees(@RequestParam(required = false) Set<String> fields,
+                                              HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(exportTimeoutMs, exportExecutor, () -> {
+            employeeService.exportEmployees(fields, response.getOutputStream());
+            return null;
+        });
     }
 
     @PostMapping
@@ -29,9 +81,20 @@ public class EmployeeController {
         return new ResponseEntity<>(employeeService.createEmployee(employeeRequestDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<List<EmployeeImportResultDTO>>> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body
+    ) throws IOException {
+        return ResponseEntity.ok(employeeImportService.importEmployees(employeeImportParser.parse(body, contentType)));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<EmployeeResponseDTO>> getEmployeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(employeeService.findEmployeeById(id));
+    public ResponseEntity<ApiResponse<EmployeeResponseDTO>> getEmployeeById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Set<String> fields
+    ) {
+        return ResponseEntity.ok(employeeService.findEmployeeById(id, fields));
     }
 
     @PutMapping("/{id}")
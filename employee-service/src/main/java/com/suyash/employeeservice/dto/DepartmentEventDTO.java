@@ -0,0 +1,22 @@
+package com.suyash.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A DTO class that represents a department change event.
+ * External Department event object.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentEventDTO {
+    @JsonProperty("event_type")
+    private String eventType;
+    private Long id;
+    private String name;
+    @JsonProperty("occurred_at")
+    private long occurredAt;
+}
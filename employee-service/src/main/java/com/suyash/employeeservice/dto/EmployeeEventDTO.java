@@ -0,0 +1,30 @@
+package com.suyash.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A DTO representing employees changed in one transaction, published so every instance's existence filters
+ * see saved employees and every instance evicts the changed employees from its second-level cache.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeEventDTO {
+    public static final String SAVED = "SAVED";
+    public static final String RATED = "RATED";
+    public static final String DELETED = "DELETED";
+
+    @JsonProperty("event_type")
+    private String eventType;
+    private List<Long> ids;
+    // only set for SAVED events
+    private List<String> emails;
+    // epoch milliseconds at which the transaction committed
+    @JsonProperty("occurred_at")
+    private long occurredAt;
+}
@@ -0,0 +1,29 @@
+package com.suyash.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A DTO class that represents the outcome of importing one row of a bulk employee import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportResultDTO {
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    // 1-based line number of the row in the uploaded file, counting a CSV header and blank lines
+    private int line;
+    private String email;
+    private String status;
+    @JsonProperty("employee_id")
+    private Long employeeId;
+    private String message;
+
+    public static EmployeeImportResultDTO failed(int line, String email, String message) {
+        return new EmployeeImportResultDTO(line, email, FAILED, null, message);
+    }
+}
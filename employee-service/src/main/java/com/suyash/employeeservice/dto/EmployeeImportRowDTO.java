@@ -0,0 +1,17 @@
+package com.suyash.employeeservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A DTO class that represents one parsed row of a bulk employee import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportRowDTO {
+    // 1-based line number of the row in the uploaded file, counting a CSV header and blank lines
+    private int line;
+    private EmployeeRequestDTO employee;
+}
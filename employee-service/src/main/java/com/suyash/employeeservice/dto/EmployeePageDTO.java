@@ -0,0 +1,21 @@
+package com.suyash.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A DTO class that represents one page of employees.
+ * The next page is requested with {@code after=<next_cursor>}; the cursor is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageDTO {
+    private List<EmployeeResponseDTO> employees;
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+}
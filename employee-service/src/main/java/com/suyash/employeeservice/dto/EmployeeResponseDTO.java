@@ -21,8 +21,12 @@ public class EmployeeResponseDTO {
     @JsonProperty("last_name")
     private String lastName;
     private String email;
+    @JsonProperty("department_id")
+    private Long departmentId;
     @JsonProperty("average_rating")
     private Double averageRating;
     private DepartmentDTO department;
     private List<ReviewDTO> review;
+    // true when department or review information was left out because a downstream call failed or timed out
+    private boolean partial;
 }
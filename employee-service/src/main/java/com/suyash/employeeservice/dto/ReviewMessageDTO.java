@@ -5,18 +5,32 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * A DTO class that represents a review message.
  * External Review object.
+ * Also carries the employee's rating aggregate after the change, ordered per employee by version.
+ * Messages from older review-service instances have no aggregate and a null version.
+ * Each message has a unique event ID; a message may be delivered more than once with the same ID.
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ReviewMessageDTO {
+    @JsonProperty("event_id")
+    private UUID eventId;
     private Long id;
     private String title;
     private String description;
     private double rating;
     @JsonProperty("employee_id")
     private Long employeeId;
+    @JsonProperty("review_count")
+    private Long reviewCount;
+    @JsonProperty("rating_sum")
+    private Double ratingSum;
+    @JsonProperty("average_rating")
+    private Double averageRating;
+    private Long version;
 }
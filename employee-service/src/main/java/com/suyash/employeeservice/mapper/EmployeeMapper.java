@@ -1,7 +1,8 @@
 package com.suyash.employeeservice.mapper;
 
-import com.suyash.employeeservice.client.DepartmentClient;
+import com.suyash.employeeservice.cache.DepartmentCache;
 import com.suyash.employeeservice.client.ReviewClient;
+import com.suyash.employeeservice.config.AsyncConfig;
 import com.suyash.employeeservice.dto.ApiResponse;
 import com.suyash.employeeservice.dto.DepartmentDTO;
 import com.suyash.employeeservice.dto.ReviewDTO;
@@ -9,10 +10,24 @@ import com.suyash.employeeservice.dto.EmployeeResponseDTO;
 import com.suyash.employeeservice.model.Employee;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Mapper class responsible for mapping Employee entities to EmployeeResponseDTOs.
@@ -20,61 +35,228 @@ import java.util.List;
 @Component
 public class EmployeeMapper {
     private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeMapper.class);
-    private final DepartmentClient departmentClient;
+    private final DepartmentCache departmentCache;
     private final ReviewClient reviewClient;
+    private final Executor enrichmentExecutor;
+    private final int batchSize;
+    private final boolean asyncEnabled;
+    private final long asyncTimeoutMs;
 
     /**
      * Constructor for EmployeeMapper.
      *
-     * @param departmentClient The DepartmentClient for fetching Department information
-     * @param reviewClient     The ReviewClient for fetching Review information
+     * @param departmentCache    The DepartmentCache for fetching Department information
+     * @param reviewClient       The ReviewClient for fetching Review information
+     * @param enrichmentExecutor The executor used to fetch Department and Review information in parallel
+     * @param batchSize          The maximum number of IDs sent to a downstream service in one request
+     * @param asyncEnabled       Whether a single employee is enriched with parallel downstream calls
+     * @param asyncTimeoutMs     The deadline for the parallel downstream calls, in milliseconds; at least the
+     *                           connect and read timeouts of the Feign clients, which bound the calls themselves
      */
-    public EmployeeMapper(DepartmentClient departmentClient, ReviewClient reviewClient) {
-        this.departmentClient = departmentClient;
+    public EmployeeMapper(DepartmentCache departmentCache,
+                          ReviewClient reviewClient,
+                          @Qualifier(AsyncConfig.ENRICHMENT_EXECUTOR) Executor enrichmentExecutor,
+                          @Value("${employee.enrichment.batch-size:500}") int batchSize,
+                          @Value("${employee.enrichment.async.enabled:true}") boolean asyncEnabled,
+                          @Value("${employee.enrichment.async.timeout-ms:2000}") long asyncTimeoutMs
+    ) {
+        this.departmentCache = departmentCache;
         this.reviewClient = reviewClient;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.batchSize = batchSize;
+        this.asyncEnabled = asyncEnabled;
+        this.asyncTimeoutMs = asyncTimeoutMs;
     }
 
     /**
      * Maps an Employee entity to an EmployeeResponseDTO.
+     * When async enrichment is enabled, Department and Review information is fetched in parallel.
      *
      * @param employee The Employee entity to map
      * @return The mapped EmployeeResponseDTO
      */
     public EmployeeResponseDTO mapToEmployeeResponseDTO(Employee employee) {
+        return mapToEmployeeResponseDTO(employee, true, true);
+    }
+
+    /**
+     * Maps an Employee entity to an EmployeeResponseDTO, fetching only the requested downstream information.
+     * When async enrichment is enabled and both are requested, Department and Review information is fetched in parallel.
+     *
+     * @param employee       The Employee entity to map
+     * @param withDepartment Whether to fetch Department information
+     * @param withReviews    Whether to fetch Review information
+     * @return The mapped EmployeeResponseDTO
+     */
+    public EmployeeResponseDTO mapToEmployeeResponseDTO(Employee employee, boolean withDepartment, boolean withReviews) {
+        if (asyncEnabled && withDepartment && withReviews) {
+            return mapToEmployeeResponseDTOConcurrently(employee);
+        }
+
+        EmployeeResponseDTO responseDTO = mapEmployeeFields(employee);
+
+        if (withDepartment) {
+            // Request Department information from Department microservice
+            DepartmentDTO departmentDTO = fetchDepartmentInfo(employee.getDepartmentId());
+            responseDTO.setDepartment(departmentDTO);
+        }
+
+        if (withReviews) {
+            // Request Review information from Review microservice
+            List<ReviewDTO> reviewDTOList = fetchReviewInfo(employee.getId());
+            responseDTO.setReview(reviewDTOList);
+        }
+
+        return responseDTO;
+    }
+
+    /**
+     * Maps an Employee entity to an EmployeeResponseDTO, fetching Department and Review information at the same time.
+     * Both lookups share one deadline; a lookup that fails or misses it is left out and the response is marked partial.
+     *
+     * @param employee The Employee entity to map
+     * @return The mapped EmployeeResponseDTO
+     */
+    private EmployeeResponseDTO mapToEmployeeResponseDTOConcurrently(Employee employee) {
+        EmployeeResponseDTO responseDTO = mapEmployeeFields(employee);
+
+        CompletableFuture<DepartmentDTO> departmentFuture = supplyAsync(() -> fetchDepartmentInfo(employee.getDepartmentId()));
+        CompletableFuture<List<ReviewDTO>> reviewFuture = supplyAsync(() -> fetchReviewInfo(employee.getId()));
+
+        // wait until both lookups have completed, failed or timed out
+        CompletableFuture.allOf(departmentFuture, reviewFuture)
+                .exceptionally(ex -> null)
+                .join();
+
+        if (departmentFuture.isCompletedExceptionally()) {
+            LOGGER.warn("Department information unavailable for employee {}, returning partial response", employee.getId());
+            responseDTO.setPartial(true);
+        } else {
+            responseDTO.setDepartment(departmentFuture.join());
+        }
+
+        if (reviewFuture.isCompletedExceptionally()) {
+            LOGGER.warn("Review information unavailable for employee {}, returning partial response", employee.getId());
+            responseDTO.setPartial(true);
+        } else {
+            responseDTO.setReview(reviewFuture.join());
+        }
+
+        return responseDTO;
+    }
+
+    /**
+     * Runs a downstream lookup on the enrichment executor, bounded by the async deadline.
+     * A lookup the executor cannot accept completes exceptionally instead of blocking the caller.
+     * The deadline only completes the future: the lookup keeps its executor thread until the Feign call returns
+     * or times out, which is why the Feign timeouts are kept within the deadline.
+     *
+     * @param supplier The lookup to run
+     * @param <T>      The type of the lookup result
+     * @return A future that completes with the result, or exceptionally on failure, rejection or timeout
+     */
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, enrichmentExecutor)
+                    .orTimeout(asyncTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /**
+     * Maps a list of Employee entities to EmployeeResponseDTOs.
+     * Department and Review information is fetched in bulk, one request per downstream service
+     * for every {@code batchSize} distinct IDs, and joined in memory.
+     *
+     * @param employees The Employee entities to map
+     * @return The mapped EmployeeResponseDTOs, in the same order as the given entities
+     */
+    public List<EmployeeResponseDTO> mapToEmployeeResponseDTOs(List<Employee> employees) {
+        return mapToEmployeeResponseDTOs(employees, true, true);
+    }
+
+    /**
+     * Maps a list of Employee entities to EmployeeResponseDTOs, fetching only the requested downstream information in bulk.
+     * A downstream service is not called at all when its information is not requested.
+     *
+     * @param employees      The Employee entities to map
+     * @param withDepartment Whether to fetch Department information
+     * @param withReviews    Whether to fetch Review information
+     * @return The mapped EmployeeResponseDTOs, in the same order as the given entities
+     */
+    public List<EmployeeResponseDTO> mapToEmployeeResponseDTOs(List<Employee> employees, boolean withDepartment, boolean withReviews) {
+        if (employees.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Long> departmentIds = employees.stream()
+                .map(Employee::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> employeeIds = employees.stream()
+                .map(Employee::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, DepartmentDTO> departments = withDepartment ? fetchDepartmentInfo(departmentIds) : Collections.emptyMap();
+        Map<Long, List<ReviewDTO>> reviews = withReviews ? fetchReviewInfo(employeeIds) : Collections.emptyMap();
+
+        List<EmployeeResponseDTO> responseDTOs = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            EmployeeResponseDTO responseDTO = mapEmployeeFields(employee);
+            if (withDepartment) {
+                responseDTO.setDepartment(departments.get(employee.getDepartmentId()));
+            }
+            if (withReviews) {
+                responseDTO.setReview(reviews.getOrDefault(employee.getId(), Collections.emptyList()));
+            }
+            responseDTOs.add(responseDTO);
+        }
+        return responseDTOs;
+    }
+
+    /**
+     * Maps the fields owned by the Employee service, without any downstream information.
+     *
+     * @param employee The Employee entity to map
+     * @return The partially populated EmployeeResponseDTO
+     */
+    private EmployeeResponseDTO mapEmployeeFields(Employee employee) {
         EmployeeResponseDTO responseDTO = new EmployeeResponseDTO();
         responseDTO.setId(employee.getId());
         responseDTO.setFirstName(employee.getFirstName());
         responseDTO.setLastName(employee.getLastName());
         responseDTO.setEmail(employee.getEmail());
+        responseDTO.setDepartmentId(employee.getDepartmentId());
         responseDTO.setAverageRating(employee.getAverageRating());
-
-        // Request Department information from Department microservice
-        DepartmentDTO departmentDTO = fetchDepartmentInfo(employee.getDepartmentId());
-        responseDTO.setDepartment(departmentDTO);
-
-        // Request Review information from Review microservice
-        List<ReviewDTO> reviewDTOList = fetchReviewInfo(employee.getId());
-        responseDTO.setReview(reviewDTOList);
-
         return responseDTO;
     }
 
     /**
-     * Fetches Department information from Department microservice using OpenFeign.
+     * Fetches Department information through the local department cache.
      *
      * @param departmentId The ID of the Department to fetch
      * @return The DepartmentDTO containing the Department information
      */
     private DepartmentDTO fetchDepartmentInfo(Long departmentId) {
-        ApiResponse<DepartmentDTO> apiResponse = departmentClient.getDepartment(departmentId);
-        if (apiResponse != null && apiResponse.isSuccess()) {
-            DepartmentDTO departmentDTO = apiResponse.getData();
-            LOGGER.info("Fetched Department information: {}", departmentDTO);
-            return departmentDTO;
-        } else {
+        DepartmentDTO departmentDTO = departmentCache.get(departmentId).orElse(null);
+        if (departmentDTO == null) {
             LOGGER.error("Failed to fetch department information for departmentId {}", departmentId);
-            return null;
         }
+        return departmentDTO;
+    }
+
+    /**
+     * Fetches Department information for a set of departments through the local department cache;
+     * only the departments missing from the cache are requested from Department microservice.
+     *
+     * @param departmentIds The distinct IDs of the Departments to fetch
+     * @return The Departments keyed by their ID; departments that could not be fetched are absent
+     */
+    private Map<Long, DepartmentDTO> fetchDepartmentInfo(Set<Long> departmentIds) {
+        Map<Long, DepartmentDTO> departments = departmentCache.getAll(departmentIds);
+        LOGGER.info("Fetched Department information for {} of {} departments", departments.size(), departmentIds.size());
+        return departments;
     }
 
     /**
@@ -94,4 +276,40 @@ public class EmployeeMapper {
             return Collections.emptyList();
         }
     }
+
+    /**
+     * Fetches Review information for a set of employees from Review microservice using OpenFeign.
+     *
+     * @param employeeIds The distinct IDs of the Employees to fetch Review information for
+     * @return The Reviews grouped by employee ID; employees without reviews are absent
+     */
+    private Map<Long, List<ReviewDTO>> fetchReviewInfo(Set<Long> employeeIds) {
+        Map<Long, List<ReviewDTO>> reviews = new HashMap<>();
+        for (List<Long> batch : partition(employeeIds)) {
+            ApiResponse<List<ReviewDTO>> apiResponse = reviewClient.getReviewsByEmployeeIds(batch);
+            if (apiResponse != null && apiResponse.isSuccess() && apiResponse.getData() != null) {
+                apiResponse.getData().forEach(review ->
+                        reviews.computeIfAbsent(review.getEmployeeId(), id -> new ArrayList<>()).add(review));
+            } else {
+                LOGGER.error("Failed to fetch review information for {} employees", batch.size());
+            }
+        }
+        LOGGER.info("Fetched Review information for {} of {} employees", reviews.size(), employeeIds.size());
+        return reviews;
+    }
+
+    /**
+     * Splits the given IDs into lists of at most {@code batchSize} elements, keeping request URLs bounded.
+     *
+     * @param ids The IDs to split
+     * @return The batches of IDs
+     */
+    private List<List<Long>> partition(Set<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < idList.size(); from += batchSize) {
+            batches.add(idList.subList(from, Math.min(from + batchSize, idList.size())));
+        }
+        return batches;
+    }
 }
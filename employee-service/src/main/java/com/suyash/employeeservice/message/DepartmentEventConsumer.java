@@ -0,0 +1,38 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.cache.DepartmentCache;
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.dto.DepartmentEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DepartmentEventConsumer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DepartmentEventConsumer.class);
+    private final DepartmentCache departmentCache;
+
+    public DepartmentEventConsumer(DepartmentCache departmentCache) {
+        this.departmentCache = departmentCache;
+    }
+
+    /**
+     * Invalidates cached departments when they change.
+     * Every instance listens on its own server-named, auto-delete queue, so each instance's cache is invalidated.
+     *
+     * @param event The department change event
+     */
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.DEPARTMENT_EVENTS_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void consumeEvent(DepartmentEventDTO event) {
+        LOGGER.info("Department {} {}, invalidating cached copy", event.getId(), event.getEventType());
+        departmentCache.invalidate(event.getId(), event.getOccurredAt());
+    }
+}
@@ -0,0 +1,42 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.cache.EmployeeCacheEvictor;
+import com.suyash.employeeservice.cache.EmployeeExistenceFilter;
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.dto.EmployeeEventDTO;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EmployeeEventConsumer {
+    private final EmployeeExistenceFilter employeeExistenceFilter;
+    private final EmployeeCacheEvictor employeeCacheEvictor;
+
+    public EmployeeEventConsumer(EmployeeExistenceFilter employeeExistenceFilter, EmployeeCacheEvictor employeeCacheEvictor) {
+        this.employeeExistenceFilter = employeeExistenceFilter;
+        this.employeeCacheEvictor = employeeCacheEvictor;
+    }
+
+    /**
+     * Evicts employees changed by any instance, this one included, from this instance's second-level cache,
+     * and adds saved employees to this instance's existence filters.
+     * Every instance listens on its own server-named, auto-delete queue, so each instance sees every event.
+     * Deleted employees stay in the filters until the next rebuild.
+     *
+     * @param event The employees changed in one transaction
+     */
+    @RabbitListener(id = RabbitMQConfig.EMPLOYEE_EVENTS_LISTENER, bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.EMPLOYEE_EVENTS_EXCHANGE, type = ExchangeTypes.FANOUT)
+    ))
+    public void consumeEvent(EmployeeEventDTO event) {
+        employeeCacheEvictor.evict(event.getIds());
+        if (EmployeeEventDTO.SAVED.equals(event.getEventType())) {
+            employeeExistenceFilter.addSaved(event.getIds(), event.getEmails());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.dto.EmployeeEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class EmployeeEventProducer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeEventProducer.class);
+    private final RabbitTemplate rabbitTemplate;
+
+    public EmployeeEventProducer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publishes the IDs and emails of employees saved in one transaction.
+     * A failure to publish is logged but does not fail the change; the other instances pick the employees up
+     * with their next filter rebuild, and their cached copies expire on their own.
+     *
+     * @param ids    The IDs of the saved employees
+     * @param emails The emails of the saved employees
+     */
+    public void sendSaved(List<Long> ids, List<String> emails) {
+        send(EmployeeEventDTO.SAVED, ids, emails);
+    }
+
+    /**
+     * Publishes the IDs of employees whose rating was written outside Hibernate.
+     *
+     * @param ids The IDs of the rated employees
+     */
+    public void sendRated(List<Long> ids) {
+        send(EmployeeEventDTO.RATED, ids, List.of());
+    }
+
+    /**
+     * Publishes the IDs of deleted employees.
+     *
+     * @param ids The IDs of the deleted employees
+     */
+    public void sendDeleted(List<Long> ids) {
+        send(EmployeeEventDTO.DELETED, ids, List.of());
+    }
+
+    private void send(String eventType, List<Long> ids, List<String> emails) {
+        EmployeeEventDTO event = new EmployeeEventDTO(eventType, ids, emails, System.currentTimeMillis());
+
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EMPLOYEE_EVENTS_EXCHANGE, "", event);
+        } catch (AmqpException ex) {
+            LOGGER.error("Failed to publish {} event for {} employees", eventType, ids.size(), ex);
+        }
+    }
+}
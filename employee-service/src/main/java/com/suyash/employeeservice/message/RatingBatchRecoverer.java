@@ -0,0 +1,79 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.dto.ReviewMessageDTO;
+import com.suyash.employeeservice.exception.EmployeeNotFoundException;
+import com.suyash.employeeservice.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recovers a batch of rating messages that still failed after the listener's retries.
+ * The messages are applied one at a time, so a poison message only dead-letters itself: each message that
+ * fails on its own is republished to the dead letter exchange with the failure in its headers, and the rest
+ * of the batch is applied and acknowledged. Like the batch update, messages without or with an unknown employee
+ * are skipped.
+ */
+@Component
+public class RatingBatchRecoverer implements MessageBatchRecoverer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingBatchRecoverer.class);
+
+    private final EmployeeService employeeService;
+    private final MessageConverter messageConverter;
+    private final MessageRecoverer deadLetterRecoverer;
+
+    /**
+     * Constructor for RatingBatchRecoverer.
+     *
+     * @param employeeService  The service applying the rating messages
+     * @param messageConverter The converter of the rating listener
+     * @param amqpTemplate     The template failed messages are republished to the dead letter exchange with
+     */
+    public RatingBatchRecoverer(EmployeeService employeeService, MessageConverter messageConverter, AmqpTemplate amqpTemplate) {
+        this.employeeService = employeeService;
+        this.messageConverter = messageConverter;
+        this.deadLetterRecoverer = new RepublishMessageRecoverer(
+                amqpTemplate, RabbitMQConfig.DEAD_LETTER_EXCHANGE, RabbitMQConfig.DEAD_LETTER_QUEUE);
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        LOGGER.warn("Rating batch of {} messages failed after retries, applying them one at a time: {}",
+                messages.size(), cause.toString());
+
+        int deadLettered = 0;
+        for (Message message : messages) {
+            try {
+                ReviewMessageDTO reviewMessage = toReviewMessage(message);
+                if (reviewMessage.getEmployeeId() == null) {
+                    LOGGER.warn("Ignored review message {} without employee ID", reviewMessage.getId());
+                    continue;
+                }
+                try {
+                    employeeService.updateEmployeeRating(reviewMessage);
+                } catch (EmployeeNotFoundException ex) {
+                    LOGGER.warn("Ignored review message {}: {}", reviewMessage.getId(), ex.getMessage());
+                }
+            } catch (RuntimeException ex) {
+                deadLettered++;
+                deadLetterRecoverer.recover(message, ex);
+            }
+        }
+        LOGGER.info("Recovered rating batch of {} messages, {} dead-lettered", messages.size(), deadLettered);
+    }
+
+    private ReviewMessageDTO toReviewMessage(Message message) {
+        // the listener infers the payload type from its method signature; a raw message has to be told
+        message.getMessageProperties().setInferredArgumentType(ReviewMessageDTO.class);
+        return (ReviewMessageDTO) messageConverter.fromMessage(message);
+    }
+}
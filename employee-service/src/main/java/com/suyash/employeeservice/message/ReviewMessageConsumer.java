@@ -6,6 +6,8 @@ import com.suyash.employeeservice.service.EmployeeService;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class ReviewMessageConsumer {
     private final EmployeeService employeeService;
@@ -14,8 +16,13 @@ public class ReviewMessageConsumer {
         this.employeeService = employeeService;
     }
 
-    @RabbitListener(queues = RabbitMQConfig.QUEUE_NAME)
-    public void consumeMessage(ReviewMessageDTO reviewMessageDTO){
-        employeeService.updateEmployeeRating(reviewMessageDTO);
+    /**
+     * Consumes rating messages in batches, see {@link RabbitMQConfig#ratingBatchListenerFactory}.
+     *
+     * @param reviewMessageDTOs The messages received in one batch
+     */
+    @RabbitListener(queues = RabbitMQConfig.QUEUE_NAME, containerFactory = RabbitMQConfig.RATING_BATCH_LISTENER_FACTORY)
+    public void consumeMessages(List<ReviewMessageDTO> reviewMessageDTOs){
+        employeeService.updateEmployeeRatings(reviewMessageDTOs);
     }
 }
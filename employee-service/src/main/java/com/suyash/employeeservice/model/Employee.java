@@ -3,16 +3,25 @@ package com.suyash.employeeservice.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents an Employee entity.
+ * Cached in the Hibernate second-level cache; rating updates written with JDBC evict the affected entries,
+ * see EmployeeRatingJdbcRepository. JPA never updates the rating columns.
  */
 @Data
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(indexes = @Index(name = "idx_employee_department_id_id", columnList = "departmentId, id"))
 public class Employee {
+    // sequence-allocated, 50 IDs per round trip, so inserts can be sent as JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
     @Column(nullable = false)
     private String firstName;
@@ -20,7 +29,13 @@ public class Employee {
     @Column(unique = true, nullable = false)
     private String email;
     private Long departmentId;
+    // the rating columns are written only by EmployeeRatingJdbcRepository; saving a stale copy of the employee,
+    // read before a newer rating was applied, must not write the old rating back
+    @Column(updatable = false)
     private double averageRating;
+    // version of the last rating aggregate applied, older rating messages are ignored
+    @Column(columnDefinition = "bigint not null default 0", updatable = false)
+    private long ratingVersion;
 
     public Employee(String firstName, String lastName, String email, Long departmentId) {
         this.firstName = firstName;
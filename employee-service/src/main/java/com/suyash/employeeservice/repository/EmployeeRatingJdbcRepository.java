@@ -0,0 +1,135 @@
+package com.suyash.employeeservice.repository;
+
+import com.suyash.employeeservice.cache.EmployeeCacheEvictor;
+import com.suyash.employeeservice.dto.ReviewMessageDTO;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes employee ratings with plain JDBC, so many employees can be updated in one batched statement.
+ * Every write is a conditional update that only applies a rating aggregate newer than the one already applied,
+ * so redelivered, duplicate and out-of-order messages are skipped by the database without reading the row first.
+ * Because these writes bypass Hibernate, the updated employees are evicted from the second-level cache
+ * once the transaction has committed, on this instance right away and on the others through a RATED employee event.
+ */
+@Repository
+public class EmployeeRatingJdbcRepository {
+    private static final String UPDATE_RATING_SQL =
+            "UPDATE employee SET average_rating = ?, rating_version = ? "
+                    + "WHERE id = ? AND rating_version < ?";
+    private static final String OVERWRITE_RATING_SQL = "UPDATE employee SET average_rating = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeCacheEvictor employeeCacheEvictor;
+    private final EmployeeEventProducer employeeEventProducer;
+
+    public EmployeeRatingJdbcRepository(JdbcTemplate jdbcTemplate,
+                                        EmployeeCacheEvictor employeeCacheEvictor,
+                                        EmployeeEventProducer employeeEventProducer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeCacheEvictor = employeeCacheEvictor;
+        this.employeeEventProducer = employeeEventProducer;
+    }
+
+    /**
+     * Applies the rating aggregate of a message to its employee, if the message version is newer.
+     *
+     * @param message The rating message
+     * @return true if the employee was updated, false if it is missing or already has this or a newer version
+     */
+    public boolean updateRating(ReviewMessageDTO message) {
+        boolean updated = jdbcTemplate.update(UPDATE_RATING_SQL, ps -> bind(ps, message)) > 0;
+        if (updated) {
+            evictAfterCommit(List.of(message.getEmployeeId()));
+        }
+        return updated;
+    }
+
+    /**
+     * Overwrites the average rating of an employee without a version, for rating messages that carry no aggregate.
+     * The rating version is left as is, so the next versioned message still applies.
+     *
+     * @param employeeId    The ID of the employee
+     * @param averageRating The average rating fetched from the review service
+     * @return true if the employee was updated, false if it is missing
+     */
+    public boolean overwriteRating(Long employeeId, double averageRating) {
+        boolean updated = jdbcTemplate.update(OVERWRITE_RATING_SQL, averageRating, employeeId) > 0;
+        if (updated) {
+            evictAfterCommit(List.of(employeeId));
+        }
+        return updated;
+    }
+
+    /**
+     * Applies the rating aggregate of each message to its employee in a single JDBC batch.
+     * An employee is only updated when the message version is newer than the one already applied.
+     * Rows are updated in employee ID order, so concurrent batches lock shared employees in the same order
+     * and cannot deadlock.
+     *
+     * @param messages The rating messages, at most one per employee
+     * @return The number of employees updated
+     */
+    public int updateRatings(Collection<ReviewMessageDTO> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        List<ReviewMessageDTO> ordered = messages.stream()
+                .sorted(Comparator.comparing(ReviewMessageDTO::getEmployeeId))
+                .toList();
+        int[][] results = jdbcTemplate.batchUpdate(UPDATE_RATING_SQL, ordered, ordered.size(),
+                EmployeeRatingJdbcRepository::bind);
+
+        int updated = 0;
+        for (int[] batch : results) {
+            for (int rows : batch) {
+                // the driver may report SUCCESS_NO_INFO (-2) for batched statements
+                updated += Math.max(rows, 0);
+            }
+        }
+        evictAfterCommit(ordered.stream().map(ReviewMessageDTO::getEmployeeId).toList());
+        return updated;
+    }
+
+    /**
+     * Evicts the employees, and the cached employee queries that may hold them, from the second-level cache
+     * of every instance. Evicting only after the commit keeps a concurrent reader from caching the old row again
+     * between the eviction and the commit.
+     *
+     * @param employeeIds The IDs of the updated employees
+     */
+    private void evictAfterCommit(List<Long> employeeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(employeeIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(employeeIds);
+            }
+        });
+    }
+
+    private void evict(List<Long> employeeIds) {
+        employeeCacheEvictor.evict(employeeIds);
+        employeeEventProducer.sendRated(employeeIds);
+    }
+
+    private static void bind(PreparedStatement ps, ReviewMessageDTO message) throws SQLException {
+        ps.setDouble(1, message.getAverageRating());
+        ps.setLong(2, message.getVersion());
+        ps.setLong(3, message.getEmployeeId());
+        ps.setLong(4, message.getVersion());
+    }
+}
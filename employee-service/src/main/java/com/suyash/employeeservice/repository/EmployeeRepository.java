@@ -1,17 +1,32 @@
 package com.suyash.employeeservice.repository;
 
 import com.suyash.employeeservice.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Employee entities.
  */
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    /**
+     * Query cache region of the cacheable employee queries, evicted when employees are updated outside Hibernate.
+     */
+    String QUERY_CACHE_REGION = "employee-queries";
+
     /**
      * Finds an employee by email.
      *
@@ -20,11 +35,70 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Finds which of the given emails already belong to an employee.
+     *
+     * @param emails The emails to check
+     * @return The subset of the emails that are taken
+     */
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     /**
      * Finds all employees by department ID.
      *
      * @param departmentId The ID of the department
      * @return A list of employees by the department
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Employee> findByDepartmentId(Long departmentId);
+
+    /**
+     * Finds the next page of employees after the given ID, in ID order.
+     *
+     * @param after The ID of the last employee of the previous page
+     * @param limit The maximum number of employees to return
+     * @return A list of employees with an ID greater than {@code after}
+     */
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    /**
+     * Finds the next page of employees of a department after the given ID, in ID order.
+     * Served by the index on (department_id, id).
+     *
+     * @param departmentId The ID of the department
+     * @param after        The ID of the last employee of the previous page
+     * @param limit        The maximum number of employees to return
+     * @return A list of employees by the department with an ID greater than {@code after}
+     */
+    List<Employee> findByDepartmentIdAndIdGreaterThanOrderByIdAsc(Long departmentId, Long after, Limit limit);
+
+    /**
+     * Streams all employees in ID order through a database cursor, 500 rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     * Bypasses the second-level cache, so an export neither reads it nor floods it with every employee.
+     *
+     * @return A stream of all employees
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    /**
+     * Streams the ID and email of every employee, 1000 rows per round trip, without loading the entities.
+     * Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return A stream of {@code [id, email]} pairs
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id, e.email from Employee e")
+    Stream<Object[]> streamIdsAndEmails();
 }
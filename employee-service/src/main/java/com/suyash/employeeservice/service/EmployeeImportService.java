@@ -0,0 +1,11 @@
+package com.suyash.employeeservice.service;
+
+import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.EmployeeImportResultDTO;
+import com.suyash.employeeservice.dto.EmployeeImportRowDTO;
+
+import java.util.List;
+
+public interface EmployeeImportService {
+    ApiResponse<List<EmployeeImportResultDTO>> importEmployees(List<EmployeeImportRowDTO> rows);
+}
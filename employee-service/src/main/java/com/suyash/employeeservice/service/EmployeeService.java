@@ -1,25 +1,35 @@
 package com.suyash.employeeservice.service;
 
 import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.EmployeePageDTO;
 import com.suyash.employeeservice.dto.EmployeeRequestDTO;
 import com.suyash.employeeservice.dto.EmployeeResponseDTO;
 import com.suyash.employeeservice.dto.ReviewMessageDTO;
 import com.suyash.employeeservice.model.Employee;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 public interface EmployeeService {
-    ApiResponse<List<EmployeeResponseDTO>> findAllEmployees(Long departmentId);
+    ApiResponse<List<EmployeeResponseDTO>> findAllEmployees(Long departmentId, Set<String> fields);
+
+    ApiResponse<EmployeePageDTO> findEmployeesPage(Long departmentId, Long after, int limit, Set<String> fields);
+
+    long exportEmployees(Set<String> fields, OutputStream outputStream) throws IOException;
 
     ApiResponse<EmployeeResponseDTO> createEmployee(EmployeeRequestDTO employeeRequestDTO);
 
-    ApiResponse<EmployeeResponseDTO> findEmployeeById(Long id);
+    ApiResponse<EmployeeResponseDTO> findEmployeeById(Long id, Set<String> fields);
 
     ApiResponse<EmployeeResponseDTO> updateEmployee(Long id, EmployeeRequestDTO employeeRequestDTO);
 
     ApiResponse<Void> updateEmployeeRating(ReviewMessageDTO reviewMessageDTO);
 
+    ApiResponse<Void> updateEmployeeRatings(List<ReviewMessageDTO> reviewMessageDTOs);
+
     ApiResponse<Void> deleteEmployee(Long id);
 
     ApiResponse<Boolean> existsById(Long id);
@@ -0,0 +1,213 @@
+package com.suyash.employeeservice.service.impl;
+
+import com.suyash.employeeservice.cache.DepartmentCache;
+import com.suyash.employeeservice.cache.EmployeeExistenceFilter;
+import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.DepartmentDTO;
+import com.suyash.employeeservice.dto.EmployeeImportResultDTO;
+import com.suyash.employeeservice.dto.EmployeeImportRowDTO;
+import com.suyash.employeeservice.dto.EmployeeRequestDTO;
+import com.suyash.employeeservice.model.Employee;
+import com.suyash.employeeservice.repository.EmployeeRepository;
+import com.suyash.employeeservice.service.EmployeeImportService;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.jpa.SpecHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the EmployeeImportService interface.
+ * All rows are validated up front with one set query per {@code EMAIL_CHUNK_SIZE} emails and one bulk department
+ * lookup, then the valid rows are inserted in JDBC batches, each chunk of {@code batchSize} rows in its own transaction.
+ */
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+    // keeps the IN list of the email query well below the PostgreSQL bind parameter limit
+    private static final int EMAIL_CHUNK_SIZE = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentCache departmentCache;
+    private final EmployeeExistenceFilter employeeExistenceFilter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    /**
+     * Constructor for EmployeeImportServiceImpl.
+     *
+     * @param employeeRepository The employee repository
+     * @param departmentCache    The DepartmentCache for resolving department IDs
+     * @param existenceFilter    The Bloom filters of existing employees, used to skip emails that cannot be taken
+     * @param entityManager      The EntityManager, flushed and cleared after each insert chunk
+     * @param transactionManager The transaction manager, used to commit each insert chunk separately
+     * @param batchSize          The number of rows inserted per transaction
+     */
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+                                     DepartmentCache departmentCache,
+                                     EmployeeExistenceFilter existenceFilter,
+                                     EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${employee.import.batch-size:1000}") int batchSize
+    ) {
+        this.employeeRepository = employeeRepository;
+        this.departmentCache = departmentCache;
+        this.employeeExistenceFilter = existenceFilter;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports employees in bulk and reports the outcome of every row.
+     * A row fails when a required field is missing, its email is repeated in the import or already taken,
+     * or its department does not exist. If an insert chunk fails, only the rows of that chunk are reported as failed.
+     * The size of an import is limited by the parser, which stops reading an upload once it has too many rows.
+     *
+     * @param rows The parsed rows to import, in file order
+     * @return ApiResponse containing one EmployeeImportResultDTO per row, in file order, with its line in the file
+     */
+    @Override
+    public ApiResponse<List<EmployeeImportResultDTO>> importEmployees(List<EmployeeImportRowDTO> rows) {
+        List<EmployeeRequestDTO> employeeRequestDTOs = rows.stream()
+                .map(EmployeeImportRowDTO::getEmployee)
+                .collect(Collectors.toList());
+        EmployeeImportResultDTO[] results = new EmployeeImportResultDTO[employeeRequestDTOs.size()];
+
+        Set<String> takenEmails = findExistingEmails(employeeRequestDTOs);
+        Set<Long> departmentIds = employeeRequestDTOs.stream()
+                .map(EmployeeRequestDTO::getDepartmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, DepartmentDTO> departments = departmentCache.getAll(departmentIds);
+
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> validRows = new ArrayList<>();
+        for (int i = 0; i < employeeRequestDTOs.size(); i++) {
+            EmployeeRequestDTO request = employeeRequestDTOs.get(i);
+            String error = validate(request, takenEmails, seenEmails, departments);
+            if (error != null) {
+                results[i] = EmployeeImportResultDTO.failed(rows.get(i).getLine(), request.getEmail(), error);
+            } else {
+                validRows.add(i);
+            }
+        }
+
+        for (int from = 0; from < validRows.size(); from += batchSize) {
+            insertChunk(rows, validRows.subList(from, Math.min(from + batchSize, validRows.size())), results);
+        }
+
+        long created = Arrays.stream(results)
+                .filter(result -> EmployeeImportResultDTO.CREATED.equals(result.getStatus()))
+                .count();
+        LOGGER.info("Imported {} of {} Employees", created, results.length);
+        return new ApiResponse<>(true, "Imported " + created + " of " + results.length + " employees", Arrays.asList(results));
+    }
+
+    /**
+     * Checks one row, remembering its email so later duplicates in the same import are rejected.
+     *
+     * @return The reason the row cannot be imported, or null if it is valid
+     */
+    private String validate(EmployeeRequestDTO request, Set<String> takenEmails, Set<String> seenEmails,
+                            Map<Long, DepartmentDTO> departments) {
+        if (request.getFirstName() == null || request.getFirstName().isBlank()) {
+            return "first_name is required";
+        }
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return "email is required";
+        }
+        if (request.getDepartmentId() == null) {
+            return "department_id is required";
+        }
+        if (takenEmails.contains(request.getEmail())) {
+            return "Employee already exists with email: " + request.getEmail();
+        }
+        if (!seenEmails.add(request.getEmail())) {
+            return "Duplicate email in import: " + request.getEmail();
+        }
+        if (!departments.containsKey(request.getDepartmentId())) {
+            return "Department not found with id: " + request.getDepartmentId();
+        }
+        return null;
+    }
+
+    /**
+     * Finds which emails of the import already belong to an employee, with one query per chunk of emails.
+     * Emails the existence filter rules out are not sent to the database.
+     */
+    private Set<String> findExistingEmails(List<EmployeeRequestDTO> employeeRequestDTOs) {
+        List<String> emails = employeeRequestDTOs.stream()
+                .map(EmployeeRequestDTO::getEmail)
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(employeeExistenceFilter::mightContainEmail)
+                .collect(Collectors.toList());
+
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_CHUNK_SIZE) {
+            taken.addAll(employeeRepository.findExistingEmails(emails.subList(from, Math.min(from + EMAIL_CHUNK_SIZE, emails.size()))));
+        }
+        employeeExistenceFilter.recordEmailMatches(emails.size(), taken.size());
+        return taken;
+    }
+
+    /**
+     * Inserts one chunk of valid rows in a single transaction, sent to the database as JDBC batches.
+     *
+     * @param rows    The rows of the import
+     * @param indexes The indexes of the rows to insert
+     * @param results The per-row results, filled in for the inserted rows
+     */
+    private void insertChunk(List<EmployeeImportRowDTO> rows, List<Integer> indexes, EmployeeImportResultDTO[] results) {
+        try {
+            Map<Integer, Employee> inserted = transactionTemplate.execute(status -> {
+                Map<Integer, Employee> employees = new HashMap<>();
+                // imported employees are not put into the second-level cache, so an import does not evict hot entries
+                entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                for (Integer row : indexes) {
+                    EmployeeRequestDTO request = rows.get(row).getEmployee();
+                    Employee employee = new Employee(
+                            request.getFirstName(),
+                            request.getLastName(),
+                            request.getEmail(),
+                            request.getDepartmentId()
+                    );
+                    entityManager.persist(employee);
+                    employeeExistenceFilter.add(employee.getId(), employee.getEmail());
+                    employees.put(row, employee);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return employees;
+            });
+
+            inserted.forEach((row, employee) -> results[row] = new EmployeeImportResultDTO(
+                    rows.get(row).getLine(), employee.getEmail(), EmployeeImportResultDTO.CREATED, employee.getId(), null));
+        } catch (DataAccessException | PersistenceException ex) {
+            LOGGER.error("Failed to import {} Employees starting at line {}", indexes.size(), rows.get(indexes.get(0)).getLine(), ex);
+            for (Integer row : indexes) {
+                results[row] = EmployeeImportResultDTO.failed(rows.get(row).getLine(), rows.get(row).getEmployee().getEmail(),
+                        "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+            }
+        }
+    }
+}
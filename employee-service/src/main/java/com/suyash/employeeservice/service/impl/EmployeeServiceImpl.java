@@ -1,8 +1,12 @@
 package com.suyash.employeeservice.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.suyash.employeeservice.cache.EmployeeExistenceFilter;
 import com.suyash.employeeservice.client.DepartmentClient;
 import com.suyash.employeeservice.client.ReviewClient;
 import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.EmployeePageDTO;
 import com.suyash.employeeservice.dto.EmployeeRequestDTO;
 import com.suyash.employeeservice.dto.EmployeeResponseDTO;
 import com.suyash.employeeservice.dto.ReviewMessageDTO;
@@ -10,18 +14,32 @@ import com.suyash.employeeservice.exception.EmailAlreadyExistsException;
 import com.suyash.employeeservice.exception.EmployeeNotFoundException;
 import com.suyash.employeeservice.exception.ResourceNotFoundException;
 import com.suyash.employeeservice.mapper.EmployeeMapper;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
 import com.suyash.employeeservice.model.Employee;
+import com.suyash.employeeservice.repository.EmployeeRatingJdbcRepository;
 import com.suyash.employeeservice.repository.EmployeeRepository;
 import com.suyash.employeeservice.service.EmployeeService;
 import com.suyash.employeeservice.exception.DepartmentNotFoundException;
 import com.suyash.employeeservice.util.Helper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the EmployeeService interface.
@@ -31,58 +49,97 @@ public class EmployeeServiceImpl implements EmployeeService {
     private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
     private final EmployeeRepository employeeRepository;
+    private final EmployeeRatingJdbcRepository employeeRatingJdbcRepository;
     private final EmployeeMapper employeeMapper;
     private final DepartmentClient departmentClient;
     private final ReviewClient reviewClient;
     private final Helper helper;
+    private final int maxPageSize;
+    private final EntityManager entityManager;
+    private final ObjectWriter exportWriter;
+    private final int exportBatchSize;
+    private final Counter ratingsApplied;
+    private final Counter ratingsSkipped;
+    private final EmployeeExistenceFilter employeeExistenceFilter;
+    private final EmployeeEventProducer employeeEventProducer;
 
     /**
      * Constructor for EmployeeServiceImpl.
      *
-     * @param employeeRepository The employee repository
-     * @param employeeMapper     The EmployeeMapper for mapping entities and DTOs
-     * @param departmentClient   The DepartmentClient for making requests to the department service
-     * @param reviewClient       The ReviewClient for making requests to the review service
-     * @param helper             The Helper class for utility methods
+     * @param employeeRepository           The employee repository
+     * @param employeeRatingJdbcRepository The repository for batched employee rating updates
+     * @param employeeMapper               The EmployeeMapper for mapping entities and DTOs
+     * @param departmentClient             The DepartmentClient for making requests to the department service
+     * @param reviewClient                 The ReviewClient for making requests to the review service
+     * @param helper                       The Helper class for utility methods
+     * @param maxPageSize                  The largest page size a client may request
+     * @param entityManager                The EntityManager, cleared between export batches
+     * @param objectMapper                 The ObjectMapper for writing exported employees
+     * @param exportBatchSize              The number of employees enriched together during an export
+     * @param meterRegistry                The registry the rating message counters are published to
+     * @param employeeExistenceFilter      The Bloom filters answering employee ID and email existence checks
+     * @param employeeEventProducer        The producer of employee events, for deletions
      */
     @Autowired
     public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               EmployeeRatingJdbcRepository employeeRatingJdbcRepository,
                                EmployeeMapper employeeMapper,
                                DepartmentClient departmentClient,
                                ReviewClient reviewClient,
-                               Helper helper
+                               Helper helper,
+                               @Value("${employee.pagination.max-limit:1000}") int maxPageSize,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               @Value("${employee.export.batch-size:500}") int exportBatchSize,
+                               MeterRegistry meterRegistry,
+                               EmployeeExistenceFilter employeeExistenceFilter,
+                               EmployeeEventProducer employeeEventProducer
     ) {
         this.employeeRepository = employeeRepository;
+        this.employeeRatingJdbcRepository = employeeRatingJdbcRepository;
         this.employeeMapper = employeeMapper;
         this.departmentClient = departmentClient;
         this.reviewClient = reviewClient;
         this.helper = helper;
+        this.maxPageSize = maxPageSize;
+        this.entityManager = entityManager;
+        this.exportWriter = objectMapper.writerFor(EmployeeResponseDTO.class);
+        this.exportBatchSize = exportBatchSize;
+        this.ratingsApplied = Counter.builder("employee.rating.messages")
+                .description("Rating messages by outcome; skipped messages were duplicates, stale or superseded")
+                .tag("result", "applied")
+                .register(meterRegistry);
+        this.ratingsSkipped = Counter.builder("employee.rating.messages")
+                .description("Rating messages by outcome; skipped messages were duplicates, stale or superseded")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.employeeExistenceFilter = employeeExistenceFilter;
+        this.employeeEventProducer = employeeEventProducer;
     }
 
     /**
      * Retrieves all employees.
      *
+     * @param departmentId The ID of the department to filter by, may be null
+     * @param fields       The optional fields to include, {@code department} and {@code review}; null for all
      * @return ApiResponse containing a list of EmployeeResponseDTO objects
      */
     @Override
-    public ApiResponse<List<EmployeeResponseDTO>> findAllEmployees(Long departmentId) {
+    public ApiResponse<List<EmployeeResponseDTO>> findAllEmployees(Long departmentId, Set<String> fields) {
         List<EmployeeResponseDTO> employees;
+        boolean withDepartment = Helper.includesField(fields, Helper.FIELD_DEPARTMENT);
+        boolean withReviews = Helper.includesField(fields, Helper.FIELD_REVIEW);
 
         if (departmentId != null) {
-            employees = employeeRepository.findByDepartmentId(departmentId)
-                    .stream()
-                    .map(employeeMapper::mapToEmployeeResponseDTO)
-                    .collect(Collectors.toList());
+            employees = employeeMapper.mapToEmployeeResponseDTOs(
+                    employeeRepository.findByDepartmentId(departmentId), withDepartment, withReviews);
 
             if (employees.isEmpty()) {
                 LOGGER.info("No employees found for department with id: {}", departmentId);
                 return new ApiResponse<>(true, "No employees found", null);
             }
         } else {
-            employees = employeeRepository.findAll()
-                    .stream()
-                    .map(employeeMapper::mapToEmployeeResponseDTO)
-                    .collect(Collectors.toList());
+            employees = employeeMapper.mapToEmployeeResponseDTOs(employeeRepository.findAll(), withDepartment, withReviews);
 
             if (employees.isEmpty()) {
                 LOGGER.info("No employees found");
@@ -90,10 +147,109 @@ public class EmployeeServiceImpl implements EmployeeService {
             }
         }
 
-        LOGGER.info("Retrieved Employees: {}", employees);
+        LOGGER.info("Retrieved {} Employees", employees.size());
         return new ApiResponse<>(true, "Employees retrieved successfully", employees);
     }
 
+    /**
+     * Retrieves one page of employees in ID order, starting after the given cursor.
+     * The page is read with an index range scan, so its cost does not depend on how far into the list it is.
+     *
+     * @param departmentId The ID of the department to filter by, may be null
+     * @param after        The ID of the last employee of the previous page, null for the first page
+     * @param limit        The maximum number of employees on the page, capped at the configured maximum
+     * @param fields       The optional fields to include, {@code department} and {@code review}; null for all
+     * @return ApiResponse containing the page and the cursor of the next page
+     */
+    @Override
+    public ApiResponse<EmployeePageDTO> findEmployeesPage(Long departmentId, Long after, int limit, Set<String> fields) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        long cursor = after != null ? after : 0L;
+
+        // read one extra row to know whether there is a next page
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<Employee> rows = departmentId != null
+                ? employeeRepository.findByDepartmentIdAndIdGreaterThanOrderByIdAsc(departmentId, cursor, fetchLimit)
+                : employeeRepository.findByIdGreaterThanOrderByIdAsc(cursor, fetchLimit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Employee> page = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+
+        List<EmployeeResponseDTO> employees = employeeMapper.mapToEmployeeResponseDTOs(
+                page,
+                Helper.includesField(fields, Helper.FIELD_DEPARTMENT),
+                Helper.includesField(fields, Helper.FIELD_REVIEW)
+        );
+
+        LOGGER.info("Retrieved {} Employees after id {}", employees.size(), cursor);
+        return new ApiResponse<>(true, "Employees retrieved successfully", new EmployeePageDTO(employees, nextCursor));
+    }
+
+    /**
+     * Writes all employees to the output stream as newline-delimited JSON, one EmployeeResponseDTO per line.
+     * Rows are read through a database cursor and enriched in batches of {@code exportBatchSize};
+     * each batch is written, flushed and detached before the next is read, so memory use does not grow
+     * with the number of employees.
+     *
+     * @param fields       The optional fields to include, {@code department} and {@code review}; null for all
+     * @param outputStream The stream to write to, typically the HTTP response body
+     * @return The number of employees written
+     * @throws IOException If writing to the output stream fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(Set<String> fields, OutputStream outputStream) throws IOException {
+        boolean withDepartment = Helper.includesField(fields, Helper.FIELD_DEPARTMENT);
+        boolean withReviews = Helper.includesField(fields, Helper.FIELD_REVIEW);
+
+        long exported = 0;
+        List<Employee> batch = new ArrayList<>(exportBatchSize);
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                batch.add(employee);
+                if (batch.size() == exportBatchSize) {
+                    exported += writeExportBatch(batch, withDepartment, withReviews, outputStream);
+                }
+            }
+        }
+        exported += writeExportBatch(batch, withDepartment, withReviews, outputStream);
+
+        LOGGER.info("Exported {} Employees", exported);
+        return exported;
+    }
+
+    /**
+     * Enriches and writes one export batch, then releases it from memory and the persistence context.
+     *
+     * @param batch          The employees to write; cleared afterwards
+     * @param withDepartment Whether to fetch Department information
+     * @param withReviews    Whether to fetch Review information
+     * @param outputStream   The stream to write to
+     * @return The number of employees written
+     * @throws IOException If writing to the output stream fails
+     */
+    private int writeExportBatch(List<Employee> batch, boolean withDepartment, boolean withReviews,
+                                 OutputStream outputStream) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        for (EmployeeResponseDTO responseDTO : employeeMapper.mapToEmployeeResponseDTOs(batch, withDepartment, withReviews)) {
+            outputStream.write(exportWriter.writeValueAsBytes(responseDTO));
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+
+        int written = batch.size();
+        batch.clear();
+        entityManager.clear();
+        return written;
+    }
+
     /**
      * Creates a new employee.
      *
@@ -102,7 +258,7 @@ public class EmployeeServiceImpl implements EmployeeService {
      */
     @Override
     public ApiResponse<EmployeeResponseDTO> createEmployee(EmployeeRequestDTO employeeRequestDTO) {
-        if (employeeRepository.existsByEmail(employeeRequestDTO.getEmail())) {
+        if (employeeExistenceFilter.existsByEmail(employeeRequestDTO.getEmail(), employeeRepository::existsByEmail)) {
             throw new EmailAlreadyExistsException("Employee already exists with email: " + employeeRequestDTO.getEmail());
         }
 
@@ -115,6 +271,7 @@ public class EmployeeServiceImpl implements EmployeeService {
                 employeeRequestDTO.getDepartmentId()
         );
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeExistenceFilter.add(savedEmployee.getId(), savedEmployee.getEmail());
         LOGGER.info("Created Employee: {}", savedEmployee);
 
         EmployeeResponseDTO responseDTO = employeeMapper.mapToEmployeeResponseDTO(savedEmployee);
@@ -125,16 +282,21 @@ public class EmployeeServiceImpl implements EmployeeService {
     /**
      * Retrieves an employee by their ID.
      *
-     * @param id The ID of the employee to retrieve
+     * @param id     The ID of the employee to retrieve
+     * @param fields The optional fields to include, {@code department} and {@code review}; null for all
      * @return ApiResponse containing the retrieved EmployeeResponseDTO object
      */
     @Override
-    public ApiResponse<EmployeeResponseDTO> findEmployeeById(Long id) {
+    public ApiResponse<EmployeeResponseDTO> findEmployeeById(Long id, Set<String> fields) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
 
         LOGGER.info("Retrieved Employee: {}", employee);
-        EmployeeResponseDTO responseDTO = employeeMapper.mapToEmployeeResponseDTO(employee);
+        EmployeeResponseDTO responseDTO = employeeMapper.mapToEmployeeResponseDTO(
+                employee,
+                Helper.includesField(fields, Helper.FIELD_DEPARTMENT),
+                Helper.includesField(fields, Helper.FIELD_REVIEW)
+        );
         return new ApiResponse<>(true, "Employee retrieved successfully", responseDTO);
     }
 
@@ -158,6 +320,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         existingEmployee.setDepartmentId(employeeRequestDTO.getDepartmentId());
 
         Employee updatedEmployee = employeeRepository.save(existingEmployee);
+        employeeExistenceFilter.add(updatedEmployee.getId(), updatedEmployee.getEmail());
         LOGGER.info("Updated Employee: {}", updatedEmployee);
 
         EmployeeResponseDTO responseDTO = employeeMapper.mapToEmployeeResponseDTO(updatedEmployee);
@@ -165,26 +328,99 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     /**
-     * Updates the rating of an employee.
+     * Updates the rating of an employee from the rating aggregate carried by the review message.
+     * The message with the highest version wins: the write is a conditional update that skips duplicates
+     * and messages older than the last applied one, without reading or locking the employee first.
+     * Messages without a version come from review-service instances that predate the aggregate,
+     * and fall back to fetching the average rating from the review service.
      *
-     * @param reviewMessageDTO The review message containing the employee ID and rating
+     * @param reviewMessageDTO The review message containing the employee ID and rating aggregate
      * @return ApiResponse indicating the success or failure of the update operation
      */
     @Override
+    @Transactional
     public ApiResponse<Void> updateEmployeeRating(ReviewMessageDTO reviewMessageDTO) {
-        Employee existingEmployee = employeeRepository.findById(reviewMessageDTO.getEmployeeId())
-                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + reviewMessageDTO.getEmployeeId()));
+        Long employeeId = reviewMessageDTO.getEmployeeId();
+        if (reviewMessageDTO.getVersion() == null || reviewMessageDTO.getAverageRating() == null) {
+            Employee existingEmployee = employeeRepository.findById(employeeId)
+                    .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + employeeId));
+            LOGGER.warn("Review message {} has no rating aggregate, fetching average rating", reviewMessageDTO.getId());
+            return updateEmployeeRatingFromReviewService(existingEmployee);
+        }
+
+        if (!employeeRatingJdbcRepository.updateRating(reviewMessageDTO)) {
+            if (!employeeRepository.existsById(employeeId)) {
+                throw new EmployeeNotFoundException("Employee not found with id: " + employeeId);
+            }
+            ratingsSkipped.increment();
+            LOGGER.info("Ignored duplicate or stale rating version {} for employee {}",
+                    reviewMessageDTO.getVersion(), employeeId);
+            return new ApiResponse<>(true, "Employee rating is already up to date", null);
+        }
 
-        ApiResponse<Double> apiResponse = reviewClient.getAverageRating(reviewMessageDTO.getEmployeeId());
+        ratingsApplied.increment();
+        LOGGER.info("Updated rating of employee {} to version {}", employeeId, reviewMessageDTO.getVersion());
+        return new ApiResponse<>(true, "Employee rating updated successfully", null);
+    }
+
+    /**
+     * Updates the ratings of many employees from a batch of review messages.
+     * Messages for the same employee are collapsed into the one with the highest version,
+     * and all affected employees are written with a single batched update that skips duplicate and stale versions,
+     * so redelivered batches and batches processed concurrently by several consumers are safe to apply.
+     * Messages without a version are applied one by one, see {@link #updateEmployeeRating(ReviewMessageDTO)}.
+     *
+     * @param reviewMessageDTOs The review messages containing the employee IDs and rating aggregates
+     * @return ApiResponse indicating the success or failure of the update operation
+     */
+    @Override
+    @Transactional
+    public ApiResponse<Void> updateEmployeeRatings(List<ReviewMessageDTO> reviewMessageDTOs) {
+        Map<Long, ReviewMessageDTO> latestByEmployee = new HashMap<>();
+        int versioned = 0;
+        for (ReviewMessageDTO message : reviewMessageDTOs) {
+            if (message.getEmployeeId() == null) {
+                LOGGER.warn("Ignored review message {} without employee ID", message.getId());
+            } else if (message.getVersion() == null || message.getAverageRating() == null) {
+                try {
+                    updateEmployeeRating(message);
+                } catch (EmployeeNotFoundException ex) {
+                    // one unknown employee must not fail the rest of the batch
+                    LOGGER.warn("Ignored review message {}: {}", message.getId(), ex.getMessage());
+                }
+            } else {
+                versioned++;
+                latestByEmployee.merge(message.getEmployeeId(), message,
+                        (current, candidate) -> candidate.getVersion() > current.getVersion() ? candidate : current);
+            }
+        }
+
+        int updated = employeeRatingJdbcRepository.updateRatings(latestByEmployee.values());
+        ratingsApplied.increment(updated);
+        ratingsSkipped.increment(versioned - updated);
+        LOGGER.info("Applied {} rating messages to {} employees, {} updated",
+                reviewMessageDTOs.size(), latestByEmployee.size(), updated);
+
+        return new ApiResponse<>(true, "Employee ratings updated successfully", null);
+    }
+
+    /**
+     * Updates the rating of an employee with the average rating fetched from the review service.
+     *
+     * @param existingEmployee The employee to update
+     * @return ApiResponse indicating the success or failure of the update operation
+     */
+    private ApiResponse<Void> updateEmployeeRatingFromReviewService(Employee existingEmployee) {
+        ApiResponse<Double> apiResponse = reviewClient.getAverageRating(existingEmployee.getId());
         if (!apiResponse.isSuccess()) {
             LOGGER.error("Error occurred while fetching average rating: {}", apiResponse.getMessage());
             return new ApiResponse<>(false, "Error occurred while fetching average rating", null);
         }
 
         Double averageRating = apiResponse.getData();
-        existingEmployee.setAverageRating(averageRating);
-        employeeRepository.save(existingEmployee);
-        LOGGER.info("Updated Employee Rating: {}", existingEmployee);
+        // the rating columns are not updatable through JPA, see Employee
+        employeeRatingJdbcRepository.overwriteRating(existingEmployee.getId(), averageRating);
+        LOGGER.info("Updated rating of employee {} to {}", existingEmployee.getId(), averageRating);
 
         return new ApiResponse<>(true, "Employee rating updated successfully", null);
     }
@@ -201,24 +437,27 @@ public class EmployeeServiceImpl implements EmployeeService {
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: " + id));
 
         employeeRepository.delete(existingEmployee);
+        // other instances still cache the employee until they evict it
+        employeeEventProducer.sendDeleted(List.of(id));
         LOGGER.info("Deleted Employee: {}", existingEmployee);
         return new ApiResponse<>(true, "Employee deleted successfully", null);
     }
 
     /**
      * Checks if an employee exists by their ID.
+     * IDs the existence filter rules out are answered without querying the database.
      *
      * @param id The ID of the employee to check
-     * @return ApiResponse indicating the success or failure of the operation
+     * @return ApiResponse containing true if the employee exists
      */
     @Override
     public ApiResponse<Boolean> existsById(Long id) {
-        boolean exists = employeeRepository.existsById(id);
+        boolean exists = employeeExistenceFilter.existsById(id, employeeRepository::existsById);
         if (!exists) {
             LOGGER.info("Employee not found with id: {}", id);
-            return new ApiResponse<>(true, "Employee not found", null);
+            return new ApiResponse<>(true, "Employee not found", false);
         }
         LOGGER.info("Employee exists with id: {}", id);
-        return new ApiResponse<>(true, "Employee exists", null);
+        return new ApiResponse<>(true, "Employee exists", true);
     }
 }
@@ -0,0 +1,183 @@
+package com.suyash.employeeservice.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.suyash.employeeservice.dto.EmployeeImportRowDTO;
+import com.suyash.employeeservice.dto.EmployeeRequestDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses bulk employee imports, either CSV with a header row or newline-delimited JSON.
+ * CSV columns are matched by header name ({@code first_name, last_name, email, department_id}) in any order;
+ * NDJSON lines use the same field names as {@code POST /employees}.
+ * Parsing stops as soon as an upload has more than {@code max-rows} rows, so an oversized file is rejected
+ * without being read into memory.
+ */
+@Component
+public class EmployeeImportParser {
+    public static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private static final String FIRST_NAME = "first_name";
+    private static final String LAST_NAME = "last_name";
+    private static final String EMAIL = "email";
+    private static final String DEPARTMENT_ID = "department_id";
+
+    private final ObjectReader ndjsonReader;
+    private final int maxRows;
+
+    /**
+     * Constructor for EmployeeImportParser.
+     *
+     * @param objectMapper The ObjectMapper the NDJSON lines are read with
+     * @param maxRows      The maximum number of rows accepted in one import
+     */
+    public EmployeeImportParser(ObjectMapper objectMapper,
+                                @Value("${employee.import.max-rows:200000}") int maxRows
+    ) {
+        this.ndjsonReader = objectMapper.readerFor(EmployeeRequestDTO.class);
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Parses an uploaded file into employee requests, one per non-blank row, each with its line number in the file.
+     *
+     * @param inputStream The uploaded file
+     * @param contentType The content type of the upload, text/csv or application/x-ndjson
+     * @return The parsed rows, in file order
+     * @throws IOException If the upload cannot be read
+     */
+    public List<EmployeeImportRowDTO> parse(InputStream inputStream, MediaType contentType) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        if (TEXT_CSV.includes(contentType)) {
+            return parseCsv(reader);
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(contentType)) {
+            return parseNdjson(reader);
+        }
+        throw new IllegalArgumentException("Unsupported import content type: " + contentType);
+    }
+
+    private List<EmployeeImportRowDTO> parseNdjson(BufferedReader reader) throws IOException {
+        List<EmployeeImportRowDTO> rows = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            try {
+                rows.add(new EmployeeImportRowDTO(lineNumber, ndjsonReader.readValue(line)));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Malformed JSON on line " + lineNumber + ": " + ex.getOriginalMessage());
+            }
+        }
+        return rows;
+    }
+
+    private List<EmployeeImportRowDTO> parseCsv(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsvLine(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of(FIRST_NAME, EMAIL, DEPARTMENT_ID)) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+
+        List<EmployeeImportRowDTO> rows = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows);
+            List<String> values = splitCsvLine(line);
+            String departmentId = column(values, columns, DEPARTMENT_ID);
+            try {
+                rows.add(new EmployeeImportRowDTO(lineNumber, new EmployeeRequestDTO(
+                        column(values, columns, FIRST_NAME),
+                        column(values, columns, LAST_NAME),
+                        column(values, columns, EMAIL),
+                        departmentId != null ? Long.valueOf(departmentId) : null
+                )));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid department_id on line " + lineNumber + ": " + departmentId);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Rejects the upload when another row is found after {@code max-rows} rows were parsed.
+     */
+    private void checkRowLimit(List<EmployeeImportRowDTO> rows) {
+        if (rows.size() >= maxRows) {
+            throw new IllegalArgumentException("An import may contain at most " + maxRows + " rows");
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line, honouring double-quoted fields and doubled quotes inside them.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
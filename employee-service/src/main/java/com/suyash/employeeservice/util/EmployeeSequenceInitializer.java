@@ -0,0 +1,38 @@
+package com.suyash.employeeservice.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the employee ID sequence past the existing IDs.
+ * Employee IDs used to come from an identity column; when the sequence is first created it starts at 1
+ * and would hand out IDs that are already taken. Runs before the web server and listeners start.
+ */
+@Component
+public class EmployeeSequenceInitializer implements SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSequenceInitializer.class);
+    // only moves the sequence forward, and only while it is behind the highest ID
+    private static final String ALIGN_SEQUENCE_SQL =
+            "SELECT setval('employee_seq', m.max_id) "
+                    + "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM employee) m, employee_seq s "
+                    + "WHERE m.max_id >= s.last_value";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Long> aligned = jdbcTemplate.queryForList(ALIGN_SEQUENCE_SQL, Long.class);
+        if (!aligned.isEmpty()) {
+            LOGGER.info("Moved employee_seq past existing employee IDs to {}", aligned.get(0));
+        }
+    }
+}
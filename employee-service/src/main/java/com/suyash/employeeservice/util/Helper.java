@@ -1,33 +1,42 @@
 package com.suyash.employeeservice.util;
 
-import com.suyash.employeeservice.client.DepartmentClient;
-import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.cache.DepartmentCache;
 import com.suyash.employeeservice.exception.DepartmentNotFoundException;
-import com.suyash.employeeservice.exception.ResourceNotFoundException;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
 public class Helper {
-    private final DepartmentClient departmentClient;
+    public static final String FIELD_DEPARTMENT = "department";
+    public static final String FIELD_REVIEW = "review";
+
+    private final DepartmentCache departmentCache;
 
-    public Helper(DepartmentClient departmentClient) {
-        this.departmentClient = departmentClient;
+    public Helper(DepartmentCache departmentCache) {
+        this.departmentCache = departmentCache;
     }
 
     /**
-     * Validates if a department exists by department ID.
+     * Validates if a department exists by department ID, using the local department cache.
      *
      * @param departmentId The ID of the department to check
      */
     public void validateDepartmentExists(Long departmentId) {
-        ApiResponse<Boolean> departmentExistsResponse = departmentClient.departmentExists(departmentId);
-
-        if (!departmentExistsResponse.isSuccess()) {
-            throw new ResourceNotFoundException("Error occurred while checking if department exists");
-        }
-
-        if (!departmentExistsResponse.getData()) {
+        if (!departmentCache.exists(departmentId)) {
             throw new DepartmentNotFoundException("Department not found with id: " + departmentId);
         }
     }
+
+    /**
+     * Checks if a field was requested through the {@code fields} query parameter.
+     * All fields are included when no projection was requested.
+     *
+     * @param fields The requested fields, may be null
+     * @param field  The field to check
+     * @return true if the field should be included in the response
+     */
+    public static boolean includesField(Set<String> fields, String field) {
+        return fields == null || fields.isEmpty() || fields.contains(field);
+    }
 }
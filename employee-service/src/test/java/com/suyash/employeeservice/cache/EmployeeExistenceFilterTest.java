@@ -0,0 +1,184 @@
+package com.suyash.employeeservice.cache;
+
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
+import com.suyash.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerRestartedEvent;
+import org.springframework.amqp.rabbit.listener.AsyncConsumerStartedEvent;
+import org.springframework.amqp.rabbit.listener.ListenerContainerConsumerFailedEvent;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeExistenceFilterTest {
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeEventProducer employeeEventProducer = mock(EmployeeEventProducer.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMessageListenerContainer eventsContainer = new SimpleMessageListenerContainer();
+    private final List<Object[]> rows = new ArrayList<>();
+    private final AtomicInteger databaseChecks = new AtomicInteger();
+
+    private EmployeeExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 1000; id++) {
+            rows.add(new Object[]{id, "employee" + id + "@example.com"});
+        }
+        when(employeeRepository.count()).thenAnswer(invocation -> (long) rows.size());
+        when(employeeRepository.streamIdsAndEmails()).thenAnswer(invocation -> new ArrayList<>(rows).stream());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // rebuilds run inline, so each test sees the rebuilt filters right away
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        });
+        eventsContainer.setListenerId(RabbitMQConfig.EMPLOYEE_EVENTS_LISTENER);
+
+        filter = new EmployeeExistenceFilter(employeeRepository, employeeEventProducer, taskScheduler,
+                transactionManager, new SimpleMeterRegistry(), 100, 0.000001);
+    }
+
+    @Test
+    void queriesTheDatabaseUntilTheEventsConsumerRuns() {
+        filter.rebuild();
+
+        assertThat(filter.existsById(5000L, database(false))).isFalse();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    void answersMissesWithoutTheDatabaseOnceBuiltAfterTheConsumerStarted() {
+        startEventsConsumer();
+
+        assertThat(filter.existsById(5000L, database(false))).isFalse();
+        assertThat(filter.existsByEmail("nobody@example.com", database(false))).isFalse();
+        assertThat(databaseChecks).hasValue(0);
+        verify(employeeRepository).streamIdsAndEmails();
+    }
+
+    @Test
+    void neverRulesOutAnEmployeeThatExists() {
+        startEventsConsumer();
+
+        for (Object[] row : rows) {
+            assertThat(filter.existsById((Long) row[0], database(true))).isTrue();
+            assertThat(filter.existsByEmail((String) row[1], database(true))).isTrue();
+            assertThat(filter.mightContainEmail((String) row[1])).isTrue();
+        }
+    }
+
+    @Test
+    void addsEmployeesSavedByOtherInstances() {
+        startEventsConsumer();
+
+        filter.addSaved(List.of(5000L), List.of("new@example.com"));
+
+        assertThat(filter.existsById(5000L, database(true))).isTrue();
+        assertThat(filter.existsByEmail("new@example.com", database(true))).isTrue();
+    }
+
+    @Test
+    void queriesTheDatabaseWhileTheEventsConsumerIsDown() {
+        startEventsConsumer();
+
+        filter.onEventsConsumerStopped(new ListenerContainerConsumerFailedEvent(eventsContainer, "connection lost", null, false));
+
+        assertThat(filter.existsById(5000L, database(true))).isTrue();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    void rebuildsAndTrustsTheFiltersAgainAfterTheConsumerRestarted() {
+        startEventsConsumer();
+        filter.onEventsConsumerStopped(new ListenerContainerConsumerFailedEvent(eventsContainer, "connection lost", null, false));
+        // saved by another instance while this one missed the event
+        rows.add(new Object[]{5000L, "missed@example.com"});
+
+        filter.onEventsConsumerStarted(new AsyncConsumerRestartedEvent(eventsContainer, null, null));
+
+        assertThat(filter.existsById(5000L, database(true))).isTrue();
+        assertThat(filter.existsById(6000L, database(false))).isFalse();
+        assertThat(databaseChecks).hasValue(1);
+    }
+
+    @Test
+    void ignoresConsumerEventsOfOtherListeners() {
+        SimpleMessageListenerContainer ratingContainer = new SimpleMessageListenerContainer();
+        ratingContainer.setListenerId("rating");
+
+        filter.onEventsConsumerStarted(new AsyncConsumerStartedEvent(ratingContainer, null));
+
+        verify(employeeRepository, never()).streamIdsAndEmails();
+    }
+
+    @Test
+    void periodicRebuildPicksUpEmployeesWrittenOutsideTheService() {
+        startEventsConsumer();
+        rows.add(new Object[]{5000L, "imported@example.com"});
+
+        filter.rebuildPeriodically();
+
+        assertThat(filter.existsByEmail("imported@example.com", database(true))).isTrue();
+    }
+
+    @Test
+    void publishesAnEmployeeSavedWithoutATransactionRightAway() {
+        filter.add(7L, "seven@example.com");
+
+        verify(employeeEventProducer).sendSaved(List.of(7L), List.of("seven@example.com"));
+    }
+
+    @Test
+    void publishesTheEmployeesOfATransactionOnceAfterTheCommit() {
+        startEventsConsumer();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.add(5001L, "first@example.com");
+            filter.add(5002L, "second@example.com");
+            verify(employeeEventProducer, never()).sendSaved(any(), any());
+            // visible to this instance before the commit
+            assertThat(filter.existsById(5001L, database(true))).isTrue();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(employeeEventProducer).sendSaved(List.of(5001L, 5002L), List.of("first@example.com", "second@example.com"));
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    private void startEventsConsumer() {
+        filter.onEventsConsumerStarted(new AsyncConsumerStartedEvent(eventsContainer, null));
+    }
+
+    private <T> Predicate<T> database(boolean exists) {
+        return value -> {
+            databaseChecks.incrementAndGet();
+            return exists;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.suyash.employeeservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suyash.employeeservice.dto.ApiResponse;
+import com.suyash.employeeservice.dto.DepartmentDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the fallback around a JDK proxy of the client interface, the way it wraps the Feign client beans.
+ */
+class LastKnownGoodFallbackTest {
+    private final AtomicBoolean down = new AtomicBoolean();
+    private final DepartmentClient client = proxied((DepartmentClient) Proxy.newProxyInstance(
+            DepartmentClient.class.getClassLoader(),
+            new Class<?>[]{DepartmentClient.class},
+            (proxy, method, args) -> {
+                if (down.get()) {
+                    throw new IllegalStateException("department-service is down");
+                }
+                return switch (method.getName()) {
+                    case "getDepartment" -> new ApiResponse<>(true, "Department found", new DepartmentDTO((Long) args[0], "Research"));
+                    case "departmentExists" -> new ApiResponse<>(true, "Department exists", true);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                };
+            }));
+
+    @Test
+    void readsMarkedLastKnownGoodAreServedWhileTheServiceIsDown() {
+        client.getDepartment(1L);
+        down.set(true);
+
+        ApiResponse<DepartmentDTO> response = client.getDepartment(1L);
+
+        assertThat(response.getData()).isEqualTo(new DepartmentDTO(1L, "Research"));
+    }
+
+    @Test
+    void existenceChecksFailClosedWhileTheServiceIsDown() {
+        assertThat(client.departmentExists(1L).getData()).isTrue();
+        down.set(true);
+
+        assertThatThrownBy(() -> client.departmentExists(1L))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("department-service is down");
+    }
+
+    private static DepartmentClient proxied(DepartmentClient target) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new LastKnownGoodFallback(new SimpleMeterRegistry(), new ObjectMapper(),
+                Duration.ofHours(1), DataSize.ofMegabytes(1)));
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,43 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.cache.EmployeeCacheEvictor;
+import com.suyash.employeeservice.cache.EmployeeExistenceFilter;
+import com.suyash.employeeservice.dto.EmployeeEventDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class EmployeeEventConsumerTest {
+    private final EmployeeExistenceFilter employeeExistenceFilter = mock(EmployeeExistenceFilter.class);
+    private final EmployeeCacheEvictor employeeCacheEvictor = mock(EmployeeCacheEvictor.class);
+    private final EmployeeEventConsumer consumer = new EmployeeEventConsumer(employeeExistenceFilter, employeeCacheEvictor);
+
+    @Test
+    void savedEmployeesAreEvictedAndAddedToTheFilters() {
+        consumer.consumeEvent(new EmployeeEventDTO(EmployeeEventDTO.SAVED, List.of(1L), List.of("one@example.com"), 0));
+
+        verify(employeeCacheEvictor).evict(List.of(1L));
+        verify(employeeExistenceFilter).addSaved(List.of(1L), List.of("one@example.com"));
+    }
+
+    @Test
+    void ratedEmployeesAreOnlyEvicted() {
+        consumer.consumeEvent(new EmployeeEventDTO(EmployeeEventDTO.RATED, List.of(1L, 2L), List.of(), 0));
+
+        verify(employeeCacheEvictor).evict(List.of(1L, 2L));
+        verify(employeeExistenceFilter, never()).addSaved(any(), any());
+    }
+
+    @Test
+    void deletedEmployeesAreOnlyEvicted() {
+        consumer.consumeEvent(new EmployeeEventDTO(EmployeeEventDTO.DELETED, List.of(3L), List.of(), 0));
+
+        verify(employeeCacheEvictor).evict(List.of(3L));
+        verify(employeeExistenceFilter, never()).addSaved(any(), any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.suyash.employeeservice.message;
+
+import com.suyash.employeeservice.config.RabbitMQConfig;
+import com.suyash.employeeservice.dto.ReviewMessageDTO;
+import com.suyash.employeeservice.exception.EmployeeNotFoundException;
+import com.suyash.employeeservice.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RatingBatchRecovererTest {
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final AmqpTemplate amqpTemplate = mock(AmqpTemplate.class);
+    private final MessageConverter messageConverter = new Jackson2JsonMessageConverter();
+
+    private final RatingBatchRecoverer recoverer = new RatingBatchRecoverer(employeeService, messageConverter, amqpTemplate);
+
+    @Test
+    void appliesEveryMessageOfAFailedBatchOnItsOwn() {
+        recoverer.recover(List.of(message(1L), message(2L)), new QueryTimeoutException("timeout"));
+
+        verify(employeeService).updateEmployeeRating(argThat(dto -> dto.getEmployeeId() == 1L));
+        verify(employeeService).updateEmployeeRating(argThat(dto -> dto.getEmployeeId() == 2L));
+        verify(amqpTemplate, never()).send(any(), any(), any(Message.class));
+    }
+
+    @Test
+    void deadLettersOnlyTheMessageThatStillFails() {
+        Message poison = message(2L);
+        when(employeeService.updateEmployeeRating(argThat(dto -> dto != null && dto.getEmployeeId() == 2L)))
+                .thenThrow(new IllegalStateException("poison"));
+
+        recoverer.recover(List.of(message(1L), poison, message(3L)), new IllegalStateException("poison"));
+
+        verify(employeeService, times(3)).updateEmployeeRating(any());
+        ArgumentCaptor<Message> deadLettered = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE), eq(RabbitMQConfig.DEAD_LETTER_QUEUE), deadLettered.capture());
+        assertThat(deadLettered.getValue().getBody()).isEqualTo(poison.getBody());
+    }
+
+    @Test
+    void deadLettersMessagesThatCannotBeRead() {
+        Message unreadable = new Message("not json".getBytes(StandardCharsets.UTF_8), jsonProperties());
+
+        recoverer.recover(List.of(unreadable, message(1L)), new IllegalStateException("unreadable"));
+
+        verify(employeeService).updateEmployeeRating(argThat(dto -> dto.getEmployeeId() == 1L));
+        verify(amqpTemplate).send(eq(RabbitMQConfig.DEAD_LETTER_EXCHANGE), eq(RabbitMQConfig.DEAD_LETTER_QUEUE), any(Message.class));
+    }
+
+    @Test
+    void skipsMessagesForUnknownEmployeesLikeTheBatchUpdate() {
+        when(employeeService.updateEmployeeRating(any())).thenThrow(new EmployeeNotFoundException("Employee not found with id: 1"));
+
+        recoverer.recover(List.of(message(1L)), new EmployeeNotFoundException("Employee not found with id: 1"));
+
+        verify(amqpTemplate, never()).send(any(), any(), any(Message.class));
+    }
+
+    private Message message(Long employeeId) {
+        ReviewMessageDTO dto = new ReviewMessageDTO(UUID.randomUUID(), employeeId * 10, "title", "description", 4.0,
+                employeeId, 1L, 4.0, 4.0, 1L);
+        return messageConverter.toMessage(dto, jsonProperties());
+    }
+
+    private static MessageProperties jsonProperties() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        return properties;
+    }
+}
@@ -0,0 +1,126 @@
+package com.suyash.employeeservice.repository;
+
+import com.suyash.employeeservice.cache.EmployeeCacheEvictor;
+import com.suyash.employeeservice.dto.ReviewMessageDTO;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
+import com.suyash.employeeservice.model.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeRatingJdbcRepositoryTest {
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private Cache secondLevelCache;
+    private EmployeeEventProducer employeeEventProducer;
+    private EmployeeRatingJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE employee (id BIGINT PRIMARY KEY, average_rating DOUBLE PRECISION NOT NULL, "
+                + "rating_version BIGINT NOT NULL DEFAULT 0)");
+        jdbcTemplate.update("INSERT INTO employee (id, average_rating) VALUES (1, 0), (2, 0), (3, 0)");
+
+        secondLevelCache = mock(Cache.class);
+        jakarta.persistence.Cache jpaCache = mock(jakarta.persistence.Cache.class);
+        when(jpaCache.unwrap(Cache.class)).thenReturn(secondLevelCache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        employeeEventProducer = mock(EmployeeEventProducer.class);
+        repository = new EmployeeRatingJdbcRepository(jdbcTemplate, new EmployeeCacheEvictor(entityManagerFactory),
+                employeeEventProducer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void appliesANewerVersionAndEvictsTheEmployee() {
+        assertThat(repository.updateRating(message(1L, 4.5, 1L))).isTrue();
+
+        assertThat(rating(1L)).isEqualTo(4.5);
+        assertThat(version(1L)).isEqualTo(1L);
+        verify(secondLevelCache).evictEntityData(Employee.class, 1L);
+        verify(secondLevelCache).evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+        // the other instances evict it when they receive the event
+        verify(employeeEventProducer).sendRated(List.of(1L));
+    }
+
+    @Test
+    void skipsARedeliveredVersion() {
+        repository.updateRating(message(1L, 4.5, 2L));
+
+        assertThat(repository.updateRating(message(1L, 1.0, 2L))).isFalse();
+        assertThat(rating(1L)).isEqualTo(4.5);
+    }
+
+    @Test
+    void skipsAnOlderVersionThatArrivesLate() {
+        repository.updateRating(message(1L, 4.5, 3L));
+
+        assertThat(repository.updateRating(message(1L, 1.0, 2L))).isFalse();
+        assertThat(rating(1L)).isEqualTo(4.5);
+        assertThat(version(1L)).isEqualTo(3L);
+    }
+
+    @Test
+    void reportsAMissingEmployeeAsNotUpdated() {
+        assertThat(repository.updateRating(message(42L, 4.5, 1L))).isFalse();
+        verify(secondLevelCache, never()).evictEntityData(Employee.class, 42L);
+        verify(employeeEventProducer, never()).sendRated(any());
+    }
+
+    @Test
+    void batchUpdateCountsOnlyTheEmployeesWithANewerVersion() {
+        repository.updateRating(message(2L, 3.0, 5L));
+
+        int updated = repository.updateRatings(List.of(message(3L, 2.0, 1L), message(2L, 1.0, 4L), message(1L, 5.0, 1L)));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(rating(1L)).isEqualTo(5.0);
+        assertThat(rating(2L)).isEqualTo(3.0);
+        assertThat(rating(3L)).isEqualTo(2.0);
+    }
+
+    @Test
+    void batchUpdateOfNoMessagesDoesNothing() {
+        assertThat(repository.updateRatings(List.of())).isZero();
+        verify(secondLevelCache, never()).evictQueryRegion(EmployeeRepository.QUERY_CACHE_REGION);
+    }
+
+    private double rating(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT average_rating FROM employee WHERE id = ?", Double.class, employeeId);
+    }
+
+    private long version(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT rating_version FROM employee WHERE id = ?", Long.class, employeeId);
+    }
+
+    private static ReviewMessageDTO message(Long employeeId, double averageRating, long version) {
+        return new ReviewMessageDTO(UUID.randomUUID(), 1L, "title", "description", averageRating,
+                employeeId, version, averageRating * version, averageRating, version);
+    }
+}
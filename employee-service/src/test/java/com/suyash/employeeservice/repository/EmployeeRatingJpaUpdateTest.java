@@ -0,0 +1,119 @@
+package com.suyash.employeeservice.repository;
+
+import com.suyash.employeeservice.cache.EmployeeCacheEvictor;
+import com.suyash.employeeservice.dto.ReviewMessageDTO;
+import com.suyash.employeeservice.message.EmployeeEventProducer;
+import com.suyash.employeeservice.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Interleaves an employee update with a rating write the way they race in production:
+ * the update reads the employee, a newer rating is written with JDBC, then the update saves its stale copy.
+ */
+class EmployeeRatingJpaUpdateTest {
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private EntityManagerFactory entityManagerFactory;
+    private EmployeeRatingJdbcRepository ratingRepository;
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(database);
+        factoryBean.setPackagesToScan(Employee.class.getPackageName());
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                "hibernate.cache.use_second_level_cache", "false",
+                "hibernate.cache.use_query_cache", "false"
+        ));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        ratingRepository = new EmployeeRatingJdbcRepository(jdbcTemplate, new EmployeeCacheEvictor(entityManagerFactory),
+                mock(EmployeeEventProducer.class));
+
+        employeeId = inTransaction(entityManager -> {
+            Employee employee = new Employee("Ada", "Lovelace", "ada@example.com", 1L);
+            entityManager.persist(employee);
+            return employee.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManagerFactory.close();
+        database.shutdown();
+    }
+
+    @Test
+    void savingAStaleEmployeeKeepsTheNewerRating() {
+        Employee stale = inTransaction(entityManager -> entityManager.find(Employee.class, employeeId));
+
+        assertThat(ratingRepository.updateRating(message(4.5, 3L))).isTrue();
+
+        stale.setFirstName("Augusta");
+        inTransaction(entityManager -> entityManager.merge(stale));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT first_name FROM employee WHERE id = ?", String.class, employeeId))
+                .isEqualTo("Augusta");
+        assertThat(jdbcTemplate.queryForObject("SELECT average_rating FROM employee WHERE id = ?", Double.class, employeeId))
+                .isEqualTo(4.5);
+        assertThat(jdbcTemplate.queryForObject("SELECT rating_version FROM employee WHERE id = ?", Long.class, employeeId))
+                .isEqualTo(3L);
+    }
+
+    @Test
+    void olderRatingStillSkippedAfterTheEmployeeWasSaved() {
+        ratingRepository.updateRating(message(4.5, 3L));
+        Employee employee = inTransaction(entityManager -> entityManager.find(Employee.class, employeeId));
+        employee.setLastName("King");
+        inTransaction(entityManager -> entityManager.merge(employee));
+
+        assertThat(ratingRepository.updateRating(message(1.0, 2L))).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT average_rating FROM employee WHERE id = ?", Double.class, employeeId))
+                .isEqualTo(4.5);
+    }
+
+    private ReviewMessageDTO message(double averageRating, long version) {
+        return new ReviewMessageDTO(UUID.randomUUID(), 1L, "title", "description", averageRating,
+                employeeId, version, averageRating * version, averageRating, version);
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            T result = work.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.suyash.employeeservice.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suyash.employeeservice.dto.EmployeeImportRowDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeImportParserTest {
+    private final EmployeeImportParser parser = new EmployeeImportParser(new ObjectMapper(), 2);
+
+    @Test
+    void csvRowsKeepTheirLineNumbersInTheFile() throws IOException {
+        List<EmployeeImportRowDTO> rows = parser.parse(upload("""
+                first_name,last_name,email,department_id
+                Ada,Lovelace,ada@example.com,1
+
+                Alan,Turing,alan@example.com,2
+                """), EmployeeImportParser.TEXT_CSV);
+
+        assertThat(rows).extracting(EmployeeImportRowDTO::getLine).containsExactly(2, 4);
+        assertThat(rows.get(1).getEmployee().getEmail()).isEqualTo("alan@example.com");
+    }
+
+    @Test
+    void ndjsonRowsKeepTheirLineNumbersInTheFile() throws IOException {
+        List<EmployeeImportRowDTO> rows = parser.parse(upload("""
+
+                {"first_name":"Ada","email":"ada@example.com","department_id":1}
+                {"first_name":"Alan","email":"alan@example.com","department_id":2}
+                """), MediaType.APPLICATION_NDJSON);
+
+        assertThat(rows).extracting(EmployeeImportRowDTO::getLine).containsExactly(2, 3);
+    }
+
+    @Test
+    void stopsReadingAtTheFirstRowBeyondTheLimit() {
+        String csv = """
+                first_name,email,department_id
+                Ada,ada@example.com,1
+                Alan,alan@example.com,2
+                Grace,grace@example.com,3
+                """;
+        AtomicInteger bytesRead = new AtomicInteger();
+        String trailer = "Linus,linus@example.com,4\n".repeat(100_000);
+        byte[] content = (csv + trailer).getBytes(StandardCharsets.UTF_8);
+        InputStream upload = new ByteArrayInputStream(content) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                int read = super.read(b, off, len);
+                bytesRead.addAndGet(Math.max(read, 0));
+                return read;
+            }
+        };
+
+        assertThatThrownBy(() -> parser.parse(upload, EmployeeImportParser.TEXT_CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("An import may contain at most 2 rows");
+        assertThat(bytesRead.get()).isLessThan(content.length);
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
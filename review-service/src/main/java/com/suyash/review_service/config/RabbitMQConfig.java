@@ -1,6 +1,10 @@
 package com.suyash.review_service.config;
 
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
@@ -12,10 +16,36 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String QUEUE_NAME = "employeeRatingQueue";
+    public static final String DEAD_LETTER_EXCHANGE = "employeeRatingQueue.dlx";
+    public static final String DEAD_LETTER_QUEUE = "employeeRatingQueue.dlq";
 
+    /**
+     * Durable rating queue; messages rejected by employee-service are routed to the dead letter queue.
+     * The declaration must match the one in employee-service.
+     */
     @Bean
     public Queue employeeRatingQueue() {
-        return new Queue("employeeRatingQueue", false);
+        return QueueBuilder.durable(QUEUE_NAME)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(DEAD_LETTER_QUEUE)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange employeeRatingDeadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue employeeRatingDeadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    @Bean
+    public Binding employeeRatingDeadLetterBinding() {
+        return BindingBuilder.bind(employeeRatingDeadLetterQueue())
+                .to(employeeRatingDeadLetterExchange())
+                .with(DEAD_LETTER_QUEUE);
     }
 
     @Bean
@@ -23,10 +53,16 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter();
     }
 
+    /**
+     * RabbitTemplate used by the outbox relay. Messages are mandatory, so a message the broker cannot route
+     * is returned and not confirmed as delivered; confirms require
+     * {@code spring.rabbitmq.publisher-confirm-type: correlated}.
+     */
     @Bean
     public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(jsonMessageConverter());
+        template.setMandatory(true);
         return template;
     }
 }
@@ -24,6 +24,11 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.findReviewsByEmployeeId(employeeId));
     }
 
+    @GetMapping(params = "employeeIds")
+    public ResponseEntity<ApiResponse<List<ReviewResponseDTO>>> getReviewsByEmployeeIds(@RequestParam List<Long> employeeIds) {
+        return ResponseEntity.ok(reviewService.findReviewsByEmployeeIds(employeeIds));
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<ReviewResponseDTO>> createReview(@RequestParam Long employeeId, @RequestBody ReviewRequestDTO reviewRequestDTO) {
         return new ResponseEntity<>(reviewService.createReview(employeeId, reviewRequestDTO), HttpStatus.CREATED);
@@ -0,0 +1,22 @@
+package com.suyash.review_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The caller's identity, as verified by the api-gateway and forwarded in signed identity headers.
+ * Available as the {@link #REQUEST_ATTRIBUTE} request attribute on requests that came through the gateway.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthenticatedUser {
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
+
+    private String subject;
+    private List<String> roles;
+    private long expiresAt;
+}
@@ -5,17 +5,31 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * A DTO representing a review message.
+ * Carries the employee's rating aggregate after the change, so consumers do not need to call back for it.
+ * Messages are ordered per employee by version; a consumer keeps the one with the highest version.
+ * Each message has a unique event ID; the outbox relay may deliver a message more than once with the same ID.
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class ReviewMessageDTO {
+    @JsonProperty("event_id")
+    private UUID eventId;
     private Long id;
     private String title;
     private String description;
     private double rating;
     @JsonProperty("employee_id")
     private Long employeeId;
+    @JsonProperty("review_count")
+    private long reviewCount;
+    @JsonProperty("rating_sum")
+    private double ratingSum;
+    @JsonProperty("average_rating")
+    private double averageRating;
+    private Long version;
 }
@@ -0,0 +1,151 @@
+package com.suyash.review_service.message;
+
+import com.suyash.review_service.dto.ReviewMessageDTO;
+import com.suyash.review_service.model.OutboxEvent;
+import com.suyash.review_service.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the messages in the outbox to RabbitMQ.
+ * Each run locks a batch of events, publishes them all, then waits for the broker's publisher confirms;
+ * confirmed events are deleted in the same transaction, anything else stays in the outbox for the next run.
+ * A crash between the confirm and the commit publishes the batch again, so delivery is at least once
+ * and consumers de-duplicate by event ID and version.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String DEFAULT_EXCHANGE = "";
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final int warnAttempts;
+
+    /**
+     * Constructor for OutboxRelay.
+     *
+     * @param outboxEventRepository The outbox repository
+     * @param rabbitTemplate        The RabbitTemplate, with publisher confirms enabled on its connection factory
+     * @param transactionManager    The transaction manager, used to hold the outbox rows locked while they are published
+     * @param batchSize             The maximum number of events published per transaction
+     * @param confirmTimeoutMs      How long to wait for the confirms of a batch
+     * @param warnAttempts          The number of unconfirmed attempts after which an event is logged as stuck
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${review.outbox.batch-size:100}") int batchSize,
+                       @Value("${review.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs,
+                       @Value("${review.outbox.warn-attempts:10}") int warnAttempts
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.warnAttempts = warnAttempts;
+    }
+
+    /**
+     * Publishes batches until the outbox is drained or a batch is not fully confirmed.
+     */
+    @Scheduled(fixedDelayString = "${review.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer confirmed;
+            do {
+                confirmed = transactionTemplate.execute(status -> publishBatch());
+            } while (confirmed != null && confirmed == batchSize);
+        } catch (AmqpException ex) {
+            LOGGER.warn("Unable to publish outbox events, retrying on the next run: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Publishes one batch of locked events and deletes the confirmed ones.
+     *
+     * @return The number of events the broker confirmed
+     */
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> correlations = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            CorrelationData correlationData = new CorrelationData(event.getEventId().toString());
+            rabbitTemplate.send(DEFAULT_EXCHANGE, event.getRoutingKey(), toMessage(event), correlationData);
+            correlations.add(correlationData);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        List<OutboxEvent> confirmed = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            if (isConfirmed(correlations.get(i), deadline)) {
+                confirmed.add(event);
+            } else {
+                event.recordFailedAttempt();
+                if (event.getAttempts() >= warnAttempts) {
+                    LOGGER.warn("Outbox event {} not confirmed after {} attempts", event.getEventId(), event.getAttempts());
+                }
+            }
+        }
+        outboxEventRepository.deleteAllInBatch(confirmed);
+
+        LOGGER.info("Published {} of {} outbox events", confirmed.size(), events.size());
+        return confirmed.size();
+    }
+
+    /**
+     * Waits until the deadline for the broker to confirm a message. A message that was returned as unroutable
+     * is not confirmed, even though the broker acks it.
+     */
+    private static boolean isConfirmed(CorrelationData correlationData, long deadline) {
+        try {
+            long remaining = Math.max(deadline - System.nanoTime(), 0);
+            CorrelationData.Confirm confirm = correlationData.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            return confirm.isAck() && correlationData.getReturned() == null;
+        } catch (TimeoutException | ExecutionException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getEventId().toString())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(TYPE_ID_HEADER, ReviewMessageDTO.class.getName())
+                .build();
+    }
+}
@@ -1,27 +1,59 @@
 package com.suyash.review_service.message;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.suyash.review_service.config.RabbitMQConfig;
 import com.suyash.review_service.dto.ReviewMessageDTO;
 import com.suyash.review_service.dto.ReviewResponseDTO;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.suyash.review_service.model.EmployeeRatingAggregate;
+import com.suyash.review_service.model.OutboxEvent;
+import com.suyash.review_service.repository.OutboxEventRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
+/**
+ * Produces the rating messages for employee-service.
+ * Messages are written to the outbox in the caller's transaction and published by the OutboxRelay,
+ * so the request never waits for the broker and a committed change is never lost.
+ */
 @Service
 public class ReviewMessageProducer {
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
 
-    public ReviewMessageProducer(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public ReviewMessageProducer(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
     }
 
-    public void sendMessage(ReviewResponseDTO reviewResponseDTO){
+    /**
+     * Adds a rating message for the review and the employee's rating aggregate to the outbox.
+     *
+     * @param reviewResponseDTO The changed review
+     * @param aggregate         The employee's rating aggregate after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendMessage(ReviewResponseDTO reviewResponseDTO, EmployeeRatingAggregate aggregate){
         ReviewMessageDTO reviewMessageDTO = new ReviewMessageDTO();
+        reviewMessageDTO.setEventId(UUID.randomUUID());
         reviewMessageDTO.setId(reviewResponseDTO.getId());
         reviewMessageDTO.setTitle(reviewResponseDTO.getTitle());
         reviewMessageDTO.setDescription(reviewResponseDTO.getDescription());
         reviewMessageDTO.setRating(reviewResponseDTO.getRating());
         reviewMessageDTO.setEmployeeId(reviewResponseDTO.getEmployeeId());
+        reviewMessageDTO.setReviewCount(aggregate.getReviewCount());
+        reviewMessageDTO.setRatingSum(aggregate.getRatingSum());
+        reviewMessageDTO.setAverageRating(aggregate.getAverageRating());
+        reviewMessageDTO.setVersion(aggregate.getVersion());
 
-        rabbitTemplate.convertAndSend(RabbitMQConfig.QUEUE_NAME, reviewMessageDTO);
+        try {
+            String payload = objectMapper.writeValueAsString(reviewMessageDTO);
+            outboxEventRepository.save(new OutboxEvent(reviewMessageDTO.getEventId(), RabbitMQConfig.QUEUE_NAME, payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize rating message for review " + reviewResponseDTO.getId(), e);
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.suyash.review_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running rating statistics for one employee, kept up to date as reviews are created, updated and deleted.
+ * The histogram has one bucket per star: ratings up to 1 fall in bucket 1, ratings above 4 in bucket 5.
+ * The version increases with every change and orders the rating events published for the employee.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "employee_rating_aggregate")
+public class EmployeeRatingAggregate {
+    @Id
+    private Long employeeId;
+    private long reviewCount;
+    private double ratingSum;
+    private Double minRating;
+    private Double maxRating;
+    private long bucket1;
+    private long bucket2;
+    private long bucket3;
+    private long bucket4;
+    private long bucket5;
+    // added after the table existed; the default lets ddl-auto add the column to a table with rows
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
+
+    public EmployeeRatingAggregate(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Returns the average rating, or 0 if the employee has no reviews.
+     *
+     * @return The average rating
+     */
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : ratingSum / reviewCount;
+    }
+
+    /**
+     * Marks the aggregate as changed, advancing its version.
+     */
+    public void incrementVersion() {
+        version++;
+    }
+
+    /**
+     * Adds a rating to the aggregate.
+     *
+     * @param rating The rating to add
+     */
+    public void add(double rating) {
+        reviewCount++;
+        ratingSum += rating;
+        minRating = minRating == null ? rating : Math.min(minRating, rating);
+        maxRating = maxRating == null ? rating : Math.max(maxRating, rating);
+        adjustBucket(rating, 1);
+    }
+
+    /**
+     * Removes a rating from the aggregate.
+     * The minimum and maximum cannot be derived from the remaining totals, so callers must
+     * recompute them when this returns true.
+     *
+     * @param rating The rating to remove
+     * @return true if the removed rating was the minimum or maximum
+     */
+    public boolean remove(double rating) {
+        reviewCount = Math.max(reviewCount - 1, 0);
+        ratingSum = reviewCount == 0 ? 0.0 : ratingSum - rating;
+        adjustBucket(rating, -1);
+
+        if (reviewCount == 0) {
+            minRating = null;
+            maxRating = null;
+            return false;
+        }
+        return (minRating != null && rating <= minRating) || (maxRating != null && rating >= maxRating);
+    }
+
+    /**
+     * Returns the histogram bucket, from 1 to 5, a rating belongs to.
+     *
+     * @param rating The rating
+     * @return The bucket number
+     */
+    public static int bucketOf(double rating) {
+        return (int) Math.min(Math.max(Math.ceil(rating), 1), 5);
+    }
+
+    private void adjustBucket(double rating, long delta) {
+        switch (bucketOf(rating)) {
+            case 1 -> bucket1 = Math.max(bucket1 + delta, 0);
+            case 2 -> bucket2 = Math.max(bucket2 + delta, 0);
+            case 3 -> bucket3 = Math.max(bucket3 + delta, 0);
+            case 4 -> bucket4 = Math.max(bucket4 + delta, 0);
+            default -> bucket5 = Math.max(bucket5 + delta, 0);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.suyash.review_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Represents a message waiting in the outbox to be published to RabbitMQ.
+ * Rows are written in the same transaction as the change they describe and deleted by the OutboxRelay
+ * once the broker has confirmed the message, so a committed change is always published at least once.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, unique = true)
+    private UUID eventId;
+    @Column(nullable = false)
+    private String routingKey;
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+    @Column(nullable = false)
+    private Instant createdAt;
+    private int attempts;
+
+    public OutboxEvent(UUID eventId, String routingKey, String payload) {
+        this.eventId = eventId;
+        this.routingKey = routingKey;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Records a publish attempt the broker did not confirm.
+     */
+    public void recordFailedAttempt() {
+        this.attempts++;
+    }
+}
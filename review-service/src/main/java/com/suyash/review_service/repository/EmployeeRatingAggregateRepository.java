@@ -0,0 +1,59 @@
+package com.suyash.review_service.repository;
+
+import com.suyash.review_service.model.EmployeeRatingAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for EmployeeRatingAggregate entities.
+ */
+@Repository
+public interface EmployeeRatingAggregateRepository extends JpaRepository<EmployeeRatingAggregate, Long> {
+    /**
+     * Finds the aggregate of an employee and locks it until the end of the transaction.
+     *
+     * @param employeeId The ID of the employee
+     * @return An Optional containing the aggregate if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from EmployeeRatingAggregate a where a.employeeId = :employeeId")
+    Optional<EmployeeRatingAggregate> findByIdForUpdate(@Param("employeeId") Long employeeId);
+
+    /**
+     * Creates an empty aggregate for an employee unless one exists, without failing on concurrent inserts.
+     *
+     * @param employeeId The ID of the employee
+     */
+    @Modifying
+    @Query(value = "INSERT INTO employee_rating_aggregate "
+            + "(employee_id, review_count, rating_sum, bucket1, bucket2, bucket3, bucket4, bucket5, version) "
+            + "VALUES (:employeeId, 0, 0, 0, 0, 0, 0, 0, 0) "
+            + "ON CONFLICT (employee_id) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("employeeId") Long employeeId);
+
+    /**
+     * Builds the aggregates of all employees from the review table, skipping employees that already have one.
+     *
+     * @return The number of aggregates created
+     */
+    @Modifying
+    @Query(value = "INSERT INTO employee_rating_aggregate "
+            + "(employee_id, review_count, rating_sum, min_rating, max_rating, "
+            + "bucket1, bucket2, bucket3, bucket4, bucket5, version) "
+            + "SELECT employee_id, COUNT(*), SUM(rating), MIN(rating), MAX(rating), "
+            + "COUNT(*) FILTER (WHERE rating <= 1), "
+            + "COUNT(*) FILTER (WHERE rating > 1 AND rating <= 2), "
+            + "COUNT(*) FILTER (WHERE rating > 2 AND rating <= 3), "
+            + "COUNT(*) FILTER (WHERE rating > 3 AND rating <= 4), "
+            + "COUNT(*) FILTER (WHERE rating > 4), 1 "
+            + "FROM review WHERE employee_id IS NOT NULL GROUP BY employee_id "
+            + "ON CONFLICT (employee_id) DO NOTHING", nativeQuery = true)
+    int backfill();
+}
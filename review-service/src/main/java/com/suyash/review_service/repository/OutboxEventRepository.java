@@ -0,0 +1,25 @@
+package com.suyash.review_service.repository;
+
+import com.suyash.review_service.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entities.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Locks the oldest unpublished events until the end of the transaction.
+     * Rows locked by another relay are skipped, so several instances can relay in parallel without publishing twice.
+     *
+     * @param limit The maximum number of events to lock
+     * @return The locked events, oldest first
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
@@ -2,8 +2,11 @@ package com.suyash.review_service.repository;
 
 import com.suyash.review_service.model.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,4 +21,30 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      * @return A list of reviews by the employee
      */
     List<Review> findByEmployeeId(Long employeeId);
+
+    /**
+     * Finds all reviews for any of the given employee IDs.
+     *
+     * @param employeeIds The IDs of the employees
+     * @return A list of reviews by the employees
+     */
+    List<Review> findByEmployeeIdIn(Collection<Long> employeeIds);
+
+    /**
+     * Finds the lowest rating given to an employee.
+     *
+     * @param employeeId The ID of the employee
+     * @return The lowest rating, or null if the employee has no reviews
+     */
+    @Query("select min(r.rating) from Review r where r.employeeId = :employeeId")
+    Double findMinRatingByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * Finds the highest rating given to an employee.
+     *
+     * @param employeeId The ID of the employee
+     * @return The highest rating, or null if the employee has no reviews
+     */
+    @Query("select max(r.rating) from Review r where r.employeeId = :employeeId")
+    Double findMaxRatingByEmployeeId(@Param("employeeId") Long employeeId);
 }
@@ -0,0 +1,20 @@
+package com.suyash.review_service.service;
+
+import com.suyash.review_service.model.EmployeeRatingAggregate;
+
+import java.util.Optional;
+
+/**
+ * Maintains the per-employee rating aggregates.
+ * The record methods must be called inside the transaction that changes the review,
+ * so the aggregate and the review table never disagree.
+ */
+public interface RatingAggregateService {
+    EmployeeRatingAggregate recordCreated(Long employeeId, double rating);
+
+    EmployeeRatingAggregate recordUpdated(Long employeeId, double oldRating, double newRating);
+
+    EmployeeRatingAggregate recordDeleted(Long employeeId, double rating);
+
+    Optional<EmployeeRatingAggregate> findAggregate(Long employeeId);
+}
@@ -11,6 +11,8 @@ import java.util.List;
 public interface ReviewService {
     ApiResponse<List<ReviewResponseDTO>> findReviewsByEmployeeId(Long employeeId);
 
+    ApiResponse<List<ReviewResponseDTO>> findReviewsByEmployeeIds(List<Long> employeeIds);
+
     ApiResponse<ReviewResponseDTO> createReview(Long employeeId, ReviewRequestDTO employeeRequestDTO);
 
     ApiResponse<ReviewResponseDTO> findReviewById(Long id);
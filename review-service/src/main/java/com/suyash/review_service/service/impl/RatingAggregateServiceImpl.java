@@ -0,0 +1,158 @@
+package com.suyash.review_service.service.impl;
+
+import com.suyash.review_service.model.EmployeeRatingAggregate;
+import com.suyash.review_service.repository.EmployeeRatingAggregateRepository;
+import com.suyash.review_service.repository.ReviewRepository;
+import com.suyash.review_service.service.RatingAggregateService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the RatingAggregateService interface.
+ * Each change locks the employee's aggregate row, so concurrent reviews of the same employee are applied one after another
+ * while reviews of different employees do not contend.
+ */
+@Component
+public class RatingAggregateServiceImpl implements RatingAggregateService, SmartInitializingSingleton {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingAggregateServiceImpl.class);
+    private final EmployeeRatingAggregateRepository aggregateRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor for RatingAggregateServiceImpl.
+     *
+     * @param aggregateRepository The rating aggregate repository
+     * @param reviewRepository    The review repository, used to recompute the minimum and maximum after a removal
+     * @param transactionManager  The transaction manager, used to run the startup backfill
+     */
+    public RatingAggregateServiceImpl(
+            EmployeeRatingAggregateRepository aggregateRepository,
+            ReviewRepository reviewRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.aggregateRepository = aggregateRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Builds the aggregates from the existing reviews the first time the service starts with an empty aggregate table.
+     * Runs before the web server and the message listeners start, so no review change can race the backfill.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (aggregateRepository.count() > 0) {
+                return;
+            }
+            int created = aggregateRepository.backfill();
+            LOGGER.info("Backfilled rating aggregates for {} employees", created);
+        });
+    }
+
+    /**
+     * Adds the rating of a new review to the employee's aggregate.
+     *
+     * @param employeeId The ID of the employee
+     * @param rating     The rating of the new review
+     * @return The updated aggregate
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmployeeRatingAggregate recordCreated(Long employeeId, double rating) {
+        EmployeeRatingAggregate aggregate = lockAggregate(employeeId);
+        aggregate.add(rating);
+        aggregate.incrementVersion();
+        LOGGER.info("Added rating {} to aggregate of employee {}", rating, employeeId);
+        return aggregate;
+    }
+
+    /**
+     * Replaces the rating of an updated review in the employee's aggregate.
+     * Must be called after the review has been saved, so a recomputed minimum or maximum sees the new rating.
+     *
+     * @param employeeId The ID of the employee
+     * @param oldRating  The rating before the update
+     * @param newRating  The rating after the update
+     * @return The updated aggregate
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmployeeRatingAggregate recordUpdated(Long employeeId, double oldRating, double newRating) {
+        EmployeeRatingAggregate aggregate = lockAggregate(employeeId);
+        if (Double.compare(oldRating, newRating) == 0) {
+            return aggregate;
+        }
+        boolean recompute = aggregate.remove(oldRating);
+        aggregate.add(newRating);
+        if (recompute) {
+            recomputeBounds(aggregate);
+        }
+        aggregate.incrementVersion();
+        LOGGER.info("Replaced rating {} with {} in aggregate of employee {}", oldRating, newRating, employeeId);
+        return aggregate;
+    }
+
+    /**
+     * Removes the rating of a deleted review from the employee's aggregate.
+     * Must be called after the review has been deleted, so a recomputed minimum or maximum ignores it.
+     *
+     * @param employeeId The ID of the employee
+     * @param rating     The rating of the deleted review
+     * @return The updated aggregate
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EmployeeRatingAggregate recordDeleted(Long employeeId, double rating) {
+        EmployeeRatingAggregate aggregate = lockAggregate(employeeId);
+        if (aggregate.remove(rating)) {
+            recomputeBounds(aggregate);
+        }
+        aggregate.incrementVersion();
+        LOGGER.info("Removed rating {} from aggregate of employee {}", rating, employeeId);
+        return aggregate;
+    }
+
+    /**
+     * Retrieves the aggregate of an employee.
+     *
+     * @param employeeId The ID of the employee
+     * @return An Optional containing the aggregate, empty if the employee has never been reviewed
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<EmployeeRatingAggregate> findAggregate(Long employeeId) {
+        return aggregateRepository.findById(employeeId);
+    }
+
+    /**
+     * Creates the employee's aggregate if needed and locks it for the rest of the transaction.
+     *
+     * @param employeeId The ID of the employee
+     * @return The locked aggregate
+     */
+    private EmployeeRatingAggregate lockAggregate(Long employeeId) {
+        aggregateRepository.insertIfAbsent(employeeId);
+        return aggregateRepository.findByIdForUpdate(employeeId)
+                .orElseThrow(() -> new IllegalStateException("Rating aggregate missing for employee " + employeeId));
+    }
+
+    /**
+     * Reloads the minimum and maximum from the review table, used when the removed rating was one of them.
+     *
+     * @param aggregate The aggregate to update
+     */
+    private void recomputeBounds(EmployeeRatingAggregate aggregate) {
+        aggregate.setMinRating(reviewRepository.findMinRatingByEmployeeId(aggregate.getEmployeeId()));
+        aggregate.setMaxRating(reviewRepository.findMaxRatingByEmployeeId(aggregate.getEmployeeId()));
+    }
+}
@@ -8,14 +8,20 @@ import com.suyash.review_service.exception.EmployeeNotFoundException;
 import com.suyash.review_service.exception.ReviewNotFoundException;
 import com.suyash.review_service.mapper.ReviewMapper;
 import com.suyash.review_service.message.ReviewMessageProducer;
+import com.suyash.review_service.model.EmployeeRatingAggregate;
 import com.suyash.review_service.model.Review;
 import com.suyash.review_service.repository.ReviewRepository;
+import com.suyash.review_service.service.RatingAggregateService;
 import com.suyash.review_service.service.ReviewService;
 import com.suyash.review_service.util.Helper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,32 +32,40 @@ import java.util.stream.Collectors;
 public class ReviewServiceImpl implements ReviewService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ReviewServiceImpl.class);
     private final ReviewRepository reviewRepository;
+    private final RatingAggregateService ratingAggregateService;
     private final ReviewMapper reviewMapper;
     private final ReviewMessageProducer reviewMessageProducer;
     private final EmployeeClient employeeClient;
     private final Helper helper;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructor for ReviewServiceImpl.
      *
-     * @param reviewRepository      The review repository
-     * @param reviewMapper          The ReviewMapper for mapping entities and DTOs
-     * @param reviewMessageProducer The ReviewMessageProducer for sending messages to the RabbitMQ queue
-     * @param employeeClient        The EmployeeClient for making requests to the employee service
-     * @param helper                The Helper class for utility methods
+     * @param reviewRepository       The review repository
+     * @param ratingAggregateService The RatingAggregateService for maintaining per-employee rating aggregates
+     * @param reviewMapper           The ReviewMapper for mapping entities and DTOs
+     * @param reviewMessageProducer  The ReviewMessageProducer for writing rating messages to the outbox
+     * @param employeeClient         The EmployeeClient for making requests to the employee service
+     * @param helper                 The Helper class for utility methods
+     * @param transactionManager     The transaction manager, used to write a new review after the employee check
      */
     public ReviewServiceImpl(
             ReviewRepository reviewRepository,
+            RatingAggregateService ratingAggregateService,
             ReviewMapper reviewMapper,
             ReviewMessageProducer reviewMessageProducer,
             EmployeeClient employeeClient,
-            Helper helper
+            Helper helper,
+            PlatformTransactionManager transactionManager
     ) {
         this.reviewRepository = reviewRepository;
+        this.ratingAggregateService = ratingAggregateService;
         this.reviewMapper = reviewMapper;
         this.reviewMessageProducer = reviewMessageProducer;
         this.employeeClient = employeeClient;
         this.helper = helper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -79,7 +93,33 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     /**
-     * Creates a new review.
+     * Retrieves all reviews for a set of employees in a single query.
+     * The reviews are returned as a flat list; callers group them by employee ID.
+     * An empty list of IDs yields an empty list of reviews, like the department batch lookup.
+     *
+     * @param employeeIds The IDs of the employees
+     * @return ApiResponse containing a list of ReviewResponseDTO objects
+     */
+    @Override
+    public ApiResponse<List<ReviewResponseDTO>> findReviewsByEmployeeIds(List<Long> employeeIds) {
+        if (employeeIds == null || employeeIds.isEmpty()) {
+            return new ApiResponse<>(true, "Reviews retrieved successfully", List.of());
+        }
+
+        List<ReviewResponseDTO> reviews = reviewRepository.findByEmployeeIdIn(new HashSet<>(employeeIds))
+                .stream()
+                .map(reviewMapper::mapToReviewResponseDTO)
+                .collect(Collectors.toList());
+
+        LOGGER.info("Retrieved {} Reviews for {} employees", reviews.size(), employeeIds.size());
+        return new ApiResponse<>(true, "Reviews retrieved successfully", reviews);
+    }
+
+    /**
+     * Creates a new review and adds its rating to the employee's aggregate in the same transaction.
+     * The rating message is written to the outbox in that transaction too and published once it has committed,
+     * so consumers never read an aggregate that does not include the new review yet.
+     * The employee is checked before that transaction begins, so no database connection is held during the remote call.
      *
      * @param employeeId       The ID of the employee
      * @param reviewRequestDTO The review details to be created
@@ -98,18 +138,21 @@ public class ReviewServiceImpl implements ReviewService {
             throw new EmployeeNotFoundException("Employee not found with ID: " + employeeId);
         }
 
-        Review review = new Review(
-                reviewRequestDTO.getTitle(),
-                reviewRequestDTO.getDescription(),
-                reviewRequestDTO.getRating()
-        );
-        review.setEmployeeId(employeeId);
-        Review savedReview = reviewRepository.save(review);
-        LOGGER.info("Created Review: {}", savedReview);
-
-        ReviewResponseDTO responseDTO = reviewMapper.mapToReviewResponseDTO(savedReview);
-
-        reviewMessageProducer.sendMessage(responseDTO);
+        ReviewResponseDTO responseDTO = transactionTemplate.execute(status -> {
+            Review review = new Review(
+                    reviewRequestDTO.getTitle(),
+                    reviewRequestDTO.getDescription(),
+                    reviewRequestDTO.getRating()
+            );
+            review.setEmployeeId(employeeId);
+            Review savedReview = reviewRepository.save(review);
+            LOGGER.info("Created Review: {}", savedReview);
+            EmployeeRatingAggregate aggregate = ratingAggregateService.recordCreated(employeeId, savedReview.getRating());
+
+            ReviewResponseDTO createdDTO = reviewMapper.mapToReviewResponseDTO(savedReview);
+            reviewMessageProducer.sendMessage(createdDTO, aggregate);
+            return createdDTO;
+        });
 
         return new ApiResponse<>(true, "Review created successfully", responseDTO);
     }
@@ -131,16 +174,19 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     /**
-     * Updates an existing review.
+     * Updates an existing review and its rating in the employee's aggregate.
+     * A rating message is published only when the rating changed.
      *
      * @param id               The ID of the review to update
      * @param reviewRequestDTO The updated review details
      * @return ApiResponse containing the updated ReviewResponseDTO object
      */
     @Override
+    @Transactional
     public ApiResponse<ReviewResponseDTO> updateReview(Long id, ReviewRequestDTO reviewRequestDTO) {
         Review existingReview = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
+        double oldRating = existingReview.getRating();
 
         existingReview.setTitle(reviewRequestDTO.getTitle());
         existingReview.setDescription(reviewRequestDTO.getDescription());
@@ -149,28 +195,39 @@ public class ReviewServiceImpl implements ReviewService {
 
         Review updatedReview = reviewRepository.save(existingReview);
         LOGGER.info("Updated Review: {}", updatedReview);
+        EmployeeRatingAggregate aggregate = ratingAggregateService.recordUpdated(
+                updatedReview.getEmployeeId(), oldRating, updatedReview.getRating());
 
         ReviewResponseDTO responseDTO = reviewMapper.mapToReviewResponseDTO(updatedReview);
+        if (Double.compare(oldRating, updatedReview.getRating()) != 0) {
+            reviewMessageProducer.sendMessage(responseDTO, aggregate);
+        }
         return new ApiResponse<>(true, "Review updated successfully", responseDTO);
     }
 
     /**
-     * Deletes a review by its ID.
+     * Deletes a review by its ID and removes its rating from the employee's aggregate,
+     * publishing the reduced aggregate.
      *
      * @param id The ID of the review to delete
      * @return ApiResponse indicating the success or failure of the deletion operation
      */
     @Override
+    @Transactional
     public ApiResponse<Void> deleteReview(Long id) {
         Review existingReview = reviewRepository.findById(id)
                 .orElseThrow(() -> new ReviewNotFoundException("Review not found with id: " + id));
         reviewRepository.delete(existingReview);
         LOGGER.info("Deleted Review: {}", existingReview);
+        EmployeeRatingAggregate aggregate = ratingAggregateService.recordDeleted(
+                existingReview.getEmployeeId(), existingReview.getRating());
+        reviewMessageProducer.sendMessage(reviewMapper.mapToReviewResponseDTO(existingReview), aggregate);
         return new ApiResponse<>(true, "Review deleted successfully", null);
     }
 
     /**
-     * Retrieves the average rating of an employee.
+     * Retrieves the average rating of an employee from the employee's rating aggregate,
+     * without reading the employee's reviews.
      *
      * @param employeeId The ID of the employee
      * @return ApiResponse containing the average rating
@@ -178,15 +235,11 @@ public class ReviewServiceImpl implements ReviewService {
     @Override
     public ApiResponse<Double> getAverageRating(Long employeeId) {
         helper.validateEmployeeId(employeeId);
-        List<Review> reviews = reviewRepository.findByEmployeeId(employeeId);
-        if (reviews.isEmpty()) {
-            throw new ReviewNotFoundException("No reviews found for employee with ID: " + employeeId);
-        }
+        EmployeeRatingAggregate aggregate = ratingAggregateService.findAggregate(employeeId)
+                .filter(found -> found.getReviewCount() > 0)
+                .orElseThrow(() -> new ReviewNotFoundException("No reviews found for employee with ID: " + employeeId));
 
-        double averageRating = reviews.stream()
-                .mapToDouble(Review::getRating)
-                .average()
-                .orElse(0.0);
+        double averageRating = aggregate.getAverageRating();
 
         LOGGER.info("Average Rating: {}", averageRating);
         return new ApiResponse<>(true, "Average rating retrieved successfully", averageRating);
@@ -0,0 +1,113 @@
+package com.suyash.review_service.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suyash.review_service.dto.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdentityHeaderFilterTest {
+    private static final byte[] SECRET = "identity-header-filter-test-secret".getBytes(StandardCharsets.UTF_8);
+
+    private final IdentityHeaderFilter filter =
+            new IdentityHeaderFilter(Base64.getEncoder().encodeToString(SECRET), new ObjectMapper());
+
+    @Test
+    void passesRequestsWithoutIdentityHeadersThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE)).isNull();
+    }
+
+    @Test
+    void acceptsValidSignatureAndExposesTheIdentity() throws Exception {
+        String expires = String.valueOf(System.currentTimeMillis() / 1000 + 60);
+        MockHttpServletRequest request = signedRequest("user@example.com", "ADMIN,USER", expires);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        AuthenticatedUser user = (AuthenticatedUser) request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE);
+        assertThat(user.getSubject()).isEqualTo("user@example.com");
+        assertThat(user.getRoles()).isEqualTo(List.of("ADMIN", "USER"));
+        assertThat(user.getExpiresAt()).isEqualTo(Long.parseLong(expires));
+    }
+
+    @Test
+    void acceptsSignedIdentityWithoutExpiry() throws Exception {
+        MockHttpServletRequest request = signedRequest("user@example.com", "", "");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE)).isNotNull();
+    }
+
+    @Test
+    void rejectsExpiredIdentity() throws Exception {
+        String expires = String.valueOf(System.currentTimeMillis() / 1000 - 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(signedRequest("user@example.com", "", expires), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void rejectsTamperedHeaders() throws Exception {
+        String expires = String.valueOf(System.currentTimeMillis() / 1000 + 60);
+        MockHttpServletRequest request = signedRequest("user@example.com", "USER", expires);
+        request.removeHeader(IdentityHeaderFilter.ROLES_HEADER);
+        request.addHeader(IdentityHeaderFilter.ROLES_HEADER, "ADMIN");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void rejectsSubjectWithoutSignature() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderFilter.SUBJECT_HEADER, "user@example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private static MockHttpServletRequest signedRequest(String subject, String roles, String expires) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] signature = mac.doFinal((subject + "\n" + roles + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderFilter.SUBJECT_HEADER, subject);
+        request.addHeader(IdentityHeaderFilter.ROLES_HEADER, roles);
+        request.addHeader(IdentityHeaderFilter.EXPIRES_HEADER, expires);
+        request.addHeader(IdentityHeaderFilter.SIGNATURE_HEADER, Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+        return request;
+    }
+}
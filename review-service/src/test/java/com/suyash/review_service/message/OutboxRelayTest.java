@@ -0,0 +1,165 @@
+package com.suyash.review_service.message;
+
+import com.suyash.review_service.model.OutboxEvent;
+import com.suyash.review_service.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.net.ConnectException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+    private static final String ROUTING_KEY = "employeeRatingQueue";
+    private static final int BATCH_SIZE = 3;
+
+    private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    /** What the broker does with each published event, by event ID; events without an entry are never confirmed. */
+    private final Map<String, Consumer<CorrelationData>> broker = new HashMap<>();
+
+    private final OutboxRelay relay = new OutboxRelay(repository, rabbitTemplate, transactionManager, BATCH_SIZE, 50, 10);
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            broker.getOrDefault(correlationData.getId(), ignored -> {
+            }).accept(correlationData);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void deletesEventsTheBrokerConfirmed() {
+        OutboxEvent first = event(OutboxRelayTest::ack);
+        OutboxEvent second = event(OutboxRelayTest::ack);
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(first, second));
+
+        relay.relay();
+
+        verify(rabbitTemplate, times(2)).send(eq(""), eq(ROUTING_KEY), any(Message.class), any(CorrelationData.class));
+        verify(repository).deleteAllInBatch(List.of(first, second));
+        verify(transactionManager).commit(any());
+        assertThat(first.getAttempts()).isZero();
+    }
+
+    @Test
+    void keepsNackedEventsAndCountsTheAttempt() {
+        OutboxEvent acked = event(OutboxRelayTest::ack);
+        OutboxEvent nacked = event(correlationData -> correlationData.getFuture().complete(new CorrelationData.Confirm(false, "nack")));
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(acked, nacked));
+
+        relay.relay();
+
+        verify(repository).deleteAllInBatch(List.of(acked));
+        assertThat(nacked.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsReturnedEventsEvenThoughTheBrokerAckedThem() {
+        OutboxEvent returned = event(correlationData -> {
+            correlationData.setReturned(new ReturnedMessage(null, 312, "NO_ROUTE", "", ROUTING_KEY));
+            ack(correlationData);
+        });
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(returned));
+
+        relay.relay();
+
+        verify(repository).deleteAllInBatch(List.of());
+        assertThat(returned.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void keepsEventsWhoseConfirmTimesOut() {
+        OutboxEvent unconfirmed = event(null);
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(unconfirmed));
+
+        relay.relay();
+
+        verify(repository).deleteAllInBatch(List.of());
+        assertThat(unconfirmed.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void publishesBatchesUntilOneIsNotFull() {
+        List<OutboxEvent> full = List.of(event(OutboxRelayTest::ack), event(OutboxRelayTest::ack), event(OutboxRelayTest::ack));
+        List<OutboxEvent> partial = List.of(event(OutboxRelayTest::ack));
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(full, partial);
+
+        relay.relay();
+
+        verify(repository, times(2)).lockNextBatch(BATCH_SIZE);
+        verify(repository).deleteAllInBatch(full);
+        verify(repository).deleteAllInBatch(partial);
+    }
+
+    @Test
+    void stopsAfterABatchThatWasNotFullyConfirmed() {
+        List<OutboxEvent> full = List.of(event(OutboxRelayTest::ack), event(null), event(OutboxRelayTest::ack));
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(full);
+
+        relay.relay();
+
+        verify(repository, times(1)).lockNextBatch(BATCH_SIZE);
+    }
+
+    @Test
+    void rollsBackAndRetriesLaterWhenTheBrokerIsUnreachable() {
+        when(repository.lockNextBatch(BATCH_SIZE)).thenReturn(List.of(event(null)));
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        relay.relay();
+
+        verify(repository, never()).deleteAllInBatch(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void doesNothingWhenTheOutboxIsEmpty() {
+        when(repository.lockNextBatch(anyInt())).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        verify(repository, never()).deleteAllInBatch(any());
+    }
+
+    private OutboxEvent event(Consumer<CorrelationData> outcome) {
+        OutboxEvent event = new OutboxEvent(UUID.randomUUID(), ROUTING_KEY, "{\"employeeId\":1}");
+        if (outcome != null) {
+            broker.put(event.getEventId().toString(), outcome);
+        }
+        return event;
+    }
+
+    private static void ack(CorrelationData correlationData) {
+        correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+    }
+}
@@ -0,0 +1,78 @@
+package com.suyash.review_service.service.impl;
+
+import com.suyash.review_service.client.EmployeeClient;
+import com.suyash.review_service.dto.ApiResponse;
+import com.suyash.review_service.dto.ReviewRequestDTO;
+import com.suyash.review_service.dto.ReviewResponseDTO;
+import com.suyash.review_service.exception.EmployeeNotFoundException;
+import com.suyash.review_service.mapper.ReviewMapper;
+import com.suyash.review_service.message.ReviewMessageProducer;
+import com.suyash.review_service.model.EmployeeRatingAggregate;
+import com.suyash.review_service.model.Review;
+import com.suyash.review_service.repository.ReviewRepository;
+import com.suyash.review_service.service.RatingAggregateService;
+import com.suyash.review_service.util.Helper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReviewServiceImplTest {
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final RatingAggregateService ratingAggregateService = mock(RatingAggregateService.class);
+    private final ReviewMapper reviewMapper = mock(ReviewMapper.class);
+    private final ReviewMessageProducer reviewMessageProducer = mock(ReviewMessageProducer.class);
+    private final EmployeeClient employeeClient = mock(EmployeeClient.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ReviewRequestDTO request = new ReviewRequestDTO("Great", "Ships on time", 4.0);
+
+    private ReviewServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(reviewRepository.save(any(Review.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new ReviewServiceImpl(reviewRepository, ratingAggregateService, reviewMapper, reviewMessageProducer,
+                employeeClient, new Helper(), transactionManager);
+    }
+
+    @Test
+    void checksTheEmployeeBeforeTheTransactionBegins() {
+        ReviewResponseDTO responseDTO = new ReviewResponseDTO();
+        EmployeeRatingAggregate aggregate = new EmployeeRatingAggregate();
+        when(employeeClient.existsById(7L)).thenReturn(new ApiResponse<>(true, "Employee exists", true));
+        when(ratingAggregateService.recordCreated(7L, 4.0)).thenReturn(aggregate);
+        when(reviewMapper.mapToReviewResponseDTO(any())).thenReturn(responseDTO);
+
+        ApiResponse<ReviewResponseDTO> response = service.createReview(7L, request);
+
+        assertThat(response.getData()).isSameAs(responseDTO);
+        InOrder order = inOrder(employeeClient, transactionManager, reviewRepository, reviewMessageProducer);
+        order.verify(employeeClient).existsById(7L);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(reviewRepository).save(any(Review.class));
+        order.verify(reviewMessageProducer).sendMessage(responseDTO, aggregate);
+        order.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void unknownEmployeeNeverOpensATransaction() {
+        when(employeeClient.existsById(7L)).thenReturn(new ApiResponse<>(true, "Employee not found", false));
+
+        assertThatThrownBy(() -> service.createReview(7L, request)).isInstanceOf(EmployeeNotFoundException.class);
+
+        verify(transactionManager, never()).getTransaction(any());
+        verifyNoInteractions(reviewRepository, ratingAggregateService, reviewMessageProducer);
+    }
+}